@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Compara hilos de plataforma y virtuales con la misma carga: arranca la aplicación en
+# cada modo y lanza LoadTest (perfil loadtest) con 1k, 2.5k, 5k y 10k conexiones. Cada
+# conexión pide una vez cada think-ms, así que la tasa es conexiones * 1000 / think-ms.
+#
+#   loadtest/compare-threads.sh [mix] [duration-seconds] [think-ms]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+MIX="${1:-v1-list:1}"
+DURATION="${2:-30}"
+THINK_MS="${3:-200}"
+PORT=18080
+
+mvn -B -q package -DskipTests
+mvn -B -q -Ploadtest test-compile dependency:build-classpath -Dmdep.outputFile=target/loadtest.classpath
+CLASSPATH="target/test-classes:target/classes:$(cat target/loadtest.classpath)"
+JAR=$(ls target/*.jar | head -1)
+
+for virtual in false true; do
+  java -jar "$JAR" --server.port=$PORT --spring.threads.virtual.enabled=$virtual \
+    --app.security.rate-limit.enabled=false > "target/loadtest-$virtual.log" 2>&1 &
+  APP=$!
+  trap 'kill $APP 2>/dev/null || true' EXIT
+  until curl -s -o /dev/null "http://localhost:$PORT/api/v1/events"; do sleep 1; done
+
+  echo "== spring.threads.virtual.enabled=$virtual"
+  for connections in 1000 2500 5000 10000; do
+    java -cp "$CLASSPATH" com.docencia.aed.loadtest.LoadTest --base-url="http://localhost:$PORT" --mix="$MIX" \
+      --connections=$connections --rate=$((connections * 1000 / THINK_MS)) --duration="$DURATION" \
+      --out="target/loadtest/virtual-$virtual-$connections" | tail -n +3
+  done
+
+  kill $APP
+  wait $APP 2>/dev/null || true
+done
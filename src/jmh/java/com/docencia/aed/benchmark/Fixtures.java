@@ -0,0 +1,115 @@
+package com.docencia.aed.benchmark;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.persistence.StoreProperties;
+import com.docencia.aed.infrastructure.security.AppSecurityProperties;
+import com.docencia.aed.repository.EventRepository;
+import com.docencia.aed.repository.jdbc.JdbcEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos y objetos comunes a los benchmarks, construidos sin levantar Spring.
+ */
+final class Fixtures {
+
+    static final int USERS = 100;
+    private static final EventStatus[] STATUSES = EventStatus.values();
+    private static final Instant BASE = Instant.parse("2026-01-01T00:00:00Z");
+    private static final int FILL_BATCH = 10_000;
+
+    private Fixtures() {
+    }
+
+    static String user(long i) {
+        return "user" + (i % USERS);
+    }
+
+    static EventStatus status(long i) {
+        return STATUSES[(int) (i % STATUSES.length)];
+    }
+
+    /**
+     * Evento sin id, repartido entre USERS autores y todos los estados de forma uniforme.
+     */
+    static Event event(long i) {
+        Event event = new Event();
+        event.setTitle("Evento " + i);
+        event.setDescription("Descripción del evento " + i + " para medir el repositorio");
+        event.setStartAt(BASE.plus(i % 10_000, ChronoUnit.HOURS));
+        event.setEndAt(event.getStartAt().plus(2, ChronoUnit.HOURS));
+        event.setStatus(status(i));
+        event.setCreatedBy(user(i));
+        event.setCreatedAt(BASE);
+        return event;
+    }
+
+    // Por lotes: con 10^7 eventos no se quiere una lista intermedia de todo el store
+    static void fill(EventRepository repo, int size) {
+        for (int from = 0; from < size; from += FILL_BATCH) {
+            List<Event> batch = new ArrayList<>(FILL_BATCH);
+            for (int i = from; i < Math.min(size, from + FILL_BATCH); i++) {
+                batch.add(event(i));
+            }
+            repo.saveAll(batch);
+        }
+    }
+
+    // H2 en memoria con el mismo esquema y el mismo pool que el perfil jdbc
+    static HikariDataSource h2(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(8);
+        new ResourceDatabasePopulator(new ClassPathResource("db/events-schema.sql")).execute(dataSource);
+        return dataSource;
+    }
+
+    static JdbcEventRepository jdbcRepository(HikariDataSource dataSource) {
+        return new JdbcEventRepository(new JdbcTemplate(dataSource), new DataSourceTransactionManager(dataSource),
+                new StoreProperties(), registry());
+    }
+
+    // Como el de Spring Boot: JavaTimeModule y fechas ISO-8601 en lugar de timestamps
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    // El mismo registro que en producción, para medir también el coste de las métricas
+    static MeterRegistry registry() {
+        return new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+    }
+
+    static AppSecurityProperties securityProperties() {
+        AppSecurityProperties props = new AppSecurityProperties();
+        props.getJwt().setSecret("benchmark-secret-benchmark-secret-benchmark-secret-0123456789");
+
+        AppSecurityProperties.RolePermissions collaborator = props.getPermissions().getCollaborator();
+        collaborator.setCanCreate(true);
+        collaborator.setCanEditOwnDraftOrRejected(true);
+        collaborator.setCanSubmitForApproval(true);
+
+        AppSecurityProperties.RolePermissions admin = props.getPermissions().getAdmin();
+        admin.setCanCreate(true);
+        admin.setCanEditAny(true);
+        admin.setCanSubmitForApproval(true);
+        admin.setCanApprove(true);
+        admin.setCanReject(true);
+        admin.setCanDelete(true);
+        return props;
+    }
+}
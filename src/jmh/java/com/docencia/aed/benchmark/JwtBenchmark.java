@@ -0,0 +1,61 @@
+package com.docencia.aed.benchmark;
+
+import com.docencia.aed.infrastructure.security.JwtService;
+import com.docencia.aed.infrastructure.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Emisión y verificación de tokens. parseClaims es la verificación completa (firma
+ * HMAC y JSON) que se hace la primera vez; verify, lo que cuesta un token ya visto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwt;
+    private Authentication auth;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwt = new JwtService(Fixtures.securityProperties(), Fixtures.registry());
+        auth = new UsernamePasswordAuthenticationToken("collab", null,
+                AuthorityUtils.createAuthorityList("ROLE_COLLABORATOR"));
+        token = jwt.generateToken(auth);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwt.generateToken(auth);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwt.parseClaims(token);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCached() {
+        return jwt.verify(token);
+    }
+}
@@ -0,0 +1,93 @@
+package com.docencia.aed.benchmark;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.repository.memory.InMemoryEventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InMemoryEventRepository (sin journal) con stores de 10^3 a 10^7 eventos. Con 10^7
+ * hace falta un heap grande: -jvmArgsAppend -Xmx16g.
+ *
+ * findByStatus devuelve una cuarta parte del store y findByCreatedByAndStatus una
+ * de cada 4 * USERS: su coste crece con el tamaño, el de save, update y findById no debería.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int size;
+
+    private InMemoryEventRepository repo;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repo = new InMemoryEventRepository(Fixtures.registry());
+        Fixtures.fill(repo, size);
+    }
+
+    // Sobrescribe un evento existente: el store no crece durante la medida
+    @Benchmark
+    public Event save() {
+        Event event = new Event(repo.findById(randomId()).orElseThrow());
+        event.setTitle("Editado");
+        return repo.save(event);
+    }
+
+    // Lo mismo como lectura-modificación-escritura atómica (la de las transiciones)
+    @Benchmark
+    public Optional<Event> update() {
+        return repo.update(randomId(), current -> {
+            Event event = new Event(current);
+            event.setTitle("Editado");
+            return event;
+        });
+    }
+
+    @Benchmark
+    public Optional<Event> findById() {
+        return repo.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Event> findByStatus() {
+        return repo.findByStatus(EventStatus.APPROVED);
+    }
+
+    @Benchmark
+    public List<Event> findByCreatedByAndStatus() {
+        long i = ThreadLocalRandom.current().nextLong(size);
+        return repo.findByCreatedByAndStatus(Fixtures.user(i), Fixtures.status(i));
+    }
+
+    // La página de 50 que usa la API, para comparar con el listado completo
+    @Benchmark
+    public List<Event> findByStatusAfter() {
+        return repo.findByStatusAfter(EventStatus.APPROVED, randomId(), 50);
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1L);
+    }
+}
@@ -0,0 +1,91 @@
+package com.docencia.aed.benchmark;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.feed.ChangeFeedProperties;
+import com.docencia.aed.infrastructure.threads.BackgroundThreads;
+import com.docencia.aed.repository.memory.InMemoryEventRepository;
+import com.docencia.aed.service.impl.EventChangeFeed;
+import com.docencia.aed.service.impl.EventMetrics;
+import com.docencia.aed.service.impl.EventServiceImpl;
+import com.docencia.aed.service.impl.PublicEventCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Transiciones de estado en EventServiceImpl, con todo lo que conllevan: lectura,
+ * reglas, copia, escritura condicionada, caché pública y feed de cambios (sin
+ * suscriptores). Cada invocación envía a aprobación un evento rechazado y lo vuelve
+ * a rechazar, así el ciclo se repite indefinidamente sin que crezca el store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+
+    private static final String OWNER = "bench";
+    private static final int WORKING_SET = 1024;
+
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private EventChangeFeed changeFeed;
+    private EventServiceImpl service;
+    private long[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper mapper = Fixtures.objectMapper();
+        MeterRegistry registry = Fixtures.registry();
+        InMemoryEventRepository repo = new InMemoryEventRepository(registry);
+        Fixtures.fill(repo, size);
+        changeFeed = new EventChangeFeed(mapper, new ChangeFeedProperties(),
+                new BackgroundThreads(new StandardEnvironment()));
+        service = new EventServiceImpl(repo, Fixtures.securityProperties(), new PublicEventCache(mapper), changeFeed,
+                new EventMetrics(registry));
+
+        List<Event> rejected = new ArrayList<>();
+        for (int i = 0; i < WORKING_SET; i++) {
+            Event event = Fixtures.event(i);
+            event.setCreatedBy(OWNER);
+            event.setStatus(EventStatus.REJECTED);
+            event.setRejectionReason("Faltan datos");
+            rejected.add(event);
+        }
+        ids = repo.saveAll(rejected).stream().mapToLong(Event::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        changeFeed.destroy();
+    }
+
+    @Benchmark
+    public Event submitThenReject() {
+        Long id = ids[next++ & (WORKING_SET - 1)];
+        service.submitForApproval(OWNER, false, id, null);
+        return service.reject("admin", true, id, "Faltan datos", null);
+    }
+}
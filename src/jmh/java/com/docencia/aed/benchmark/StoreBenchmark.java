@@ -0,0 +1,125 @@
+package com.docencia.aed.benchmark;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.persistence.StoreProperties;
+import com.docencia.aed.repository.EventRepository;
+import com.docencia.aed.repository.cache.CachingEventRepository;
+import com.docencia.aed.repository.memory.InMemoryEventRepository;
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Las mismas operaciones sobre el store en memoria, sobre el repositorio JDBC (H2 en
+ * memoria, así se mide el repositorio y no el disco) y sobre el JDBC con la caché de
+ * lectura delante, con su configuración por defecto (10^4 eventos por id). Tamaños más
+ * pequeños que en RepositoryBenchmark: llenar H2 con millones de filas lleva minutos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreBenchmark {
+
+    private static final int BATCH = 100;
+
+    @Param({"memory", "jdbc", "cached"})
+    public String store;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    private EventRepository repo;
+    private HikariDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (store.equals("jdbc") || store.equals("cached")) {
+            dataSource = Fixtures.h2("store-benchmark");
+            repo = Fixtures.jdbcRepository(dataSource);
+            if (store.equals("cached")) {
+                repo = new CachingEventRepository(repo, new StoreProperties.Cache(), Fixtures.registry());
+            }
+        } else {
+            repo = new InMemoryEventRepository(Fixtures.registry());
+        }
+        Fixtures.fill(repo, size);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (dataSource != null) {
+            dataSource.close();
+        }
+    }
+
+    // Sobrescribe un evento existente: el store no crece durante la medida
+    @Benchmark
+    public Event save() {
+        Event event = new Event(repo.findById(randomId()).orElseThrow());
+        event.setTitle("Editado");
+        return repo.save(event);
+    }
+
+    // BATCH eventos consecutivos en una sola llamada (en JDBC, un executeBatch)
+    @Benchmark
+    public List<Event> saveAll() {
+        long first = ThreadLocalRandom.current().nextLong(1, size - BATCH + 2L);
+        List<Event> events = new ArrayList<>(BATCH);
+        for (long id = first; id < first + BATCH; id++) {
+            Event event = Fixtures.event(id - 1);
+            event.setId(id);
+            events.add(event);
+        }
+        return repo.saveAll(events);
+    }
+
+    @Benchmark
+    public Optional<Event> update() {
+        return repo.update(randomId(), current -> {
+            Event event = new Event(current);
+            event.setTitle("Editado");
+            return event;
+        });
+    }
+
+    @Benchmark
+    public Optional<Event> findById() {
+        return repo.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Event> findByStatusAfter() {
+        return repo.findByStatusAfter(EventStatus.APPROVED, randomId(), 50);
+    }
+
+    @Benchmark
+    public List<Event> findByCreatedByAndStatus() {
+        long i = ThreadLocalRandom.current().nextLong(size);
+        return repo.findByCreatedByAndStatus(Fixtures.user(i), Fixtures.status(i));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, size + 1L);
+    }
+}
@@ -0,0 +1,46 @@
+package com.docencia.aed.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias de un endpoint en microsegundos. {@code corrected} se mide desde el
+ * instante en que la petición debía salir según la tasa pedida, así que incluye la
+ * espera si el servidor (o el límite de conexiones) la retrasó: es la latencia que vería
+ * un cliente real y la que no esconde la omisión coordinada. {@code service} se mide
+ * desde que sale de verdad.
+ */
+final class EndpointStats {
+
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    final Histogram corrected = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    final Histogram service = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+    private final Map<Integer, LongAdder> errors = new ConcurrentHashMap<>();
+
+    void success(long intendedNanos, long sentNanos, long doneNanos) {
+        corrected.recordValue(Math.min(HIGHEST_MICROS, (doneNanos - intendedNanos) / 1_000));
+        service.recordValue(Math.min(HIGHEST_MICROS, (doneNanos - sentNanos) / 1_000));
+    }
+
+    // status 0: la petición no llegó a tener respuesta (conexión, timeout...)
+    void error(int status) {
+        errors.computeIfAbsent(status, s -> new LongAdder()).increment();
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    Map<Integer, Long> errorsByStatus() {
+        Map<Integer, Long> byStatus = new TreeMap<>();
+        errors.forEach((status, count) -> byStatus.put(status, count.sum()));
+        return byStatus;
+    }
+}
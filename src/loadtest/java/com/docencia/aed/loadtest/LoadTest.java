@@ -0,0 +1,228 @@
+package com.docencia.aed.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Prueba de carga HTTP contra una instancia ya arrancada: login, lecturas de v1 y el
+ * ciclo de vida completo de v2 (crear, editar, enviar, aprobar, rechazar, borrar)
+ * mezclados según --mix.
+ *
+ * Es de bucle abierto: las peticiones salen a la tasa fija --rate pase lo que pase con
+ * las anteriores, con como mucho --connections en vuelo. La latencia se cuenta desde
+ * el instante en que tocaba enviar cada petición, no desde que se envió, así que un
+ * servidor que se atasca no se ahorra las peticiones que un cliente real habría hecho
+ * mientras tanto (omisión coordinada). Se informa por endpoint de peticiones por
+ * segundo y percentiles; con --out se escriben además summary.json y un .hgrm por endpoint.
+ *
+ *   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--base-url=http://localhost:8080 --rate=500"
+ */
+public class LoadTest {
+
+    private static final String DEFAULT_MIX =
+            "login:1,v1-list:40,v1-get:30,v2-create:8,v2-patch:6,v2-submit:6,v2-approve:4,v2-reject:2,v2-delete:3";
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = arg(args, "base-url", "http://localhost:8080");
+        double rate = Double.parseDouble(arg(args, "rate", "200"));
+        int connections = Integer.parseInt(arg(args, "connections", "256"));
+        int seconds = Integer.parseInt(arg(args, "duration", "30"));
+        int warmup = Integer.parseInt(arg(args, "warmup", "5"));
+        String mix = arg(args, "mix", DEFAULT_MIX);
+        long seed = Long.parseLong(arg(args, "seed", "1"));
+        String out = arg(args, "out", null);
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors())))
+                .build();
+        Scenario scenario = new Scenario(client, baseUrl, arg(args, "collab", "collab:collab123"),
+                arg(args, "admin", "admin:admin123"));
+        scenario.prepare();
+
+        Mix operations = Mix.parse(mix);
+        Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats());
+        }
+
+        Semaphore inFlight = new Semaphore(connections);
+        SplittableRandom random = new SplittableRandom(seed);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmup);
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(seconds);
+
+        for (long intended = start; intended < end; intended += interval) {
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Si el servidor va por detrás esto bloquea, pero el reloj de la petición ya corre
+            inFlight.acquire();
+            Scenario.Call call = scenario.next(operations.pick(random), random);
+            long scheduled = intended;
+            long sent = System.nanoTime();
+            client.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+                long done = System.nanoTime();
+                inFlight.release();
+                boolean ok = failure == null && response.statusCode() < 400;
+                if (ok) {
+                    call.onSuccess().accept(response);
+                }
+                if (scheduled < measureFrom) {
+                    return;
+                }
+                EndpointStats endpoint = stats.get(call.operation());
+                if (ok) {
+                    endpoint.success(scheduled, sent, done);
+                } else {
+                    endpoint.error(failure == null ? response.statusCode() : 0);
+                }
+            });
+        }
+        inFlight.acquire(connections);
+
+        report(System.out, baseUrl, rate, connections, seconds, mix, stats);
+        if (out != null) {
+            write(Path.of(out), baseUrl, rate, connections, seconds, mix, stats);
+        }
+        System.exit(0);
+    }
+
+    private static void report(PrintStream printer, String baseUrl, double rate, int connections, int seconds,
+            String mix, Map<Operation, EndpointStats> stats) {
+        printer.printf("base-url=%s rate=%.0f/s connections=%d duration=%ds%nmix=%s%n", baseUrl, rate, connections,
+                seconds, mix);
+        printer.printf("%-11s %8s %8s %9s %9s %9s %9s %9s %9s %12s  %s%n", "endpoint", "ok", "errors", "req/s",
+                "p50", "p90", "p99", "p99.9", "max", "p99 service", "(ms)");
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            Histogram h = endpoint.corrected;
+            if (h.getTotalCount() == 0 && endpoint.errorCount() == 0) {
+                continue;
+            }
+            printer.printf("%-11s %8d %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f  %s%n", entry.getKey().label(),
+                    h.getTotalCount(), endpoint.errorCount(), (h.getTotalCount() + endpoint.errorCount()) / (double) seconds,
+                    millis(h.getValueAtPercentile(50)), millis(h.getValueAtPercentile(90)),
+                    millis(h.getValueAtPercentile(99)), millis(h.getValueAtPercentile(99.9)), millis(h.getMaxValue()),
+                    millis(endpoint.service.getValueAtPercentile(99)),
+                    endpoint.errorCount() > 0 ? endpoint.errorsByStatus() : "");
+        }
+    }
+
+    /**
+     * summary.json para comparar entre versiones y, por endpoint, la distribución
+     * completa en formato .hgrm (en milisegundos) que entiende HdrHistogram Plotter.
+     */
+    private static void write(Path directory, String baseUrl, double rate, int connections, int seconds, String mix,
+            Map<Operation, EndpointStats> stats) throws IOException {
+        Files.createDirectories(directory);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("baseUrl", baseUrl);
+        summary.put("rate", rate);
+        summary.put("connections", connections);
+        summary.put("durationSeconds", seconds);
+        summary.put("mix", mix);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        for (Map.Entry<Operation, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpoint = entry.getValue();
+            if (endpoint.corrected.getTotalCount() == 0 && endpoint.errorCount() == 0) {
+                continue;
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("ok", endpoint.corrected.getTotalCount());
+            values.put("errors", endpoint.errorsByStatus());
+            values.put("throughput", (endpoint.corrected.getTotalCount() + endpoint.errorCount()) / (double) seconds);
+            values.put("latencyMillis", percentiles(endpoint.corrected));
+            values.put("serviceTimeMillis", percentiles(endpoint.service));
+            endpoints.put(entry.getKey().label(), values);
+
+            try (PrintStream hgrm = new PrintStream(directory.resolve(entry.getKey().label() + ".hgrm").toFile())) {
+                endpoint.corrected.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        summary.put("endpoints", endpoints);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("summary.json").toFile(), summary);
+    }
+
+    private static Map<String, Double> percentiles(Histogram histogram) {
+        Map<String, Double> values = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            values.put("p" + (percentile == Math.rint(percentile) ? Long.toString((long) percentile)
+                    : Double.toString(percentile)), millis(histogram.getValueAtPercentile(percentile)));
+        }
+        values.put("max", millis(histogram.getMaxValue()));
+        return values;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static String arg(String[] args, String name, String fallback) {
+        String prefix = "--" + name + "=";
+        for (String arg : args) {
+            if (arg.startsWith(prefix)) {
+                return arg.substring(prefix.length());
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Reparto de operaciones por pesos: "v1-list:40,v2-create:10".
+     */
+    private record Mix(Operation[] operations, int[] cumulative) {
+        static Mix parse(String spec) {
+            List<Operation> operations = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int total = 0;
+            for (String part : spec.split(",")) {
+                String[] pair = part.trim().split(":");
+                int weight = pair.length > 1 ? Integer.parseInt(pair[1]) : 1;
+                if (weight > 0) {
+                    total += weight;
+                    operations.add(Operation.of(pair[0]));
+                    cumulative.add(total);
+                }
+            }
+            if (operations.isEmpty()) {
+                throw new IllegalArgumentException("The mix must contain at least one operation");
+            }
+            return new Mix(operations.toArray(Operation[]::new), cumulative.stream().mapToInt(i -> i).toArray());
+        }
+
+        Operation pick(SplittableRandom random) {
+            int value = random.nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (value < cumulative[i]) {
+                    return operations[i];
+                }
+            }
+            return operations[operations.length - 1];
+        }
+    }
+}
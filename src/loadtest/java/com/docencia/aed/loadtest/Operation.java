@@ -0,0 +1,36 @@
+package com.docencia.aed.loadtest;
+
+/**
+ * Endpoints que puede ejercitar la prueba de carga, con el nombre que se usa en --mix
+ * y en el informe.
+ */
+enum Operation {
+    LOGIN("login"),
+    V1_LIST("v1-list"),
+    V1_GET("v1-get"),
+    V2_CREATE("v2-create"),
+    V2_PATCH("v2-patch"),
+    V2_SUBMIT("v2-submit"),
+    V2_APPROVE("v2-approve"),
+    V2_REJECT("v2-reject"),
+    V2_DELETE("v2-delete");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Operation of(String label) {
+        for (Operation operation : values()) {
+            if (operation.label.equals(label)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation: " + label);
+    }
+}
@@ -0,0 +1,165 @@
+package com.docencia.aed.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Construye cada petición según la operación y sigue el estado de los eventos que va
+ * creando la propia prueba: los borradores se editan o se envían a aprobación, los
+ * pendientes se aprueban o se rechazan (y vuelven a ser editables), y los aprobados se
+ * borran. Si no hay ningún evento en el estado que necesita una operación, se crea uno.
+ */
+final class Scenario {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String[] collab;
+    private final String[] admin;
+    private String collabToken;
+    private String adminToken;
+    private long[] published = new long[0];
+
+    private final Queue<Long> drafts = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Long> approved = new ConcurrentLinkedQueue<>();
+
+    Scenario(HttpClient client, String baseUrl, String collab, String admin) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.collab = collab.split(":", 2);
+        this.admin = admin.split(":", 2);
+    }
+
+    /**
+     * Tokens de los dos usuarios y los ids publicados que usará v1-get. Se hace una vez,
+     * antes de medir.
+     */
+    void prepare() throws IOException, InterruptedException {
+        collabToken = login(collab);
+        adminToken = login(admin);
+        HttpResponse<String> response = client.send(get("/api/v1/events?limit=500").build(),
+                HttpResponse.BodyHandlers.ofString());
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode event : mapper.readTree(response.body())) {
+            ids.add(event.get("id").asLong());
+        }
+        published = ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    Call next(Operation operation, SplittableRandom random) {
+        switch (operation) {
+            case LOGIN:
+                return new Call(operation, loginRequest(collab), response -> { });
+            case V1_LIST:
+                return new Call(operation, get("/api/v1/events?limit=50").build(), response -> { });
+            case V1_GET:
+                if (published.length == 0) {
+                    return next(Operation.V1_LIST, random);
+                }
+                return new Call(operation,
+                        get("/api/v1/events/" + published[random.nextInt(published.length)]).build(), response -> { });
+            case V2_PATCH:
+                return withEvent(drafts, random, id -> new Call(operation,
+                        authorized(collabToken, "/api/v2/events/" + id)
+                                .method("PATCH", json("{\"description\":\"Editado " + random.nextInt() + "\"}"))
+                                .build(),
+                        response -> drafts.add(id)));
+            case V2_SUBMIT:
+                return withEvent(drafts, random, id -> new Call(operation,
+                        authorized(collabToken, "/api/v2/events/" + id + "/submit").POST(noBody()).build(),
+                        response -> pending.add(id)));
+            case V2_APPROVE:
+                return withEvent(pending, random, id -> new Call(operation,
+                        authorized(adminToken, "/api/v2/events/" + id + "/approve").POST(noBody()).build(),
+                        response -> approved.add(id)));
+            case V2_REJECT:
+                return withEvent(pending, random, id -> new Call(operation,
+                        authorized(adminToken, "/api/v2/events/" + id + "/reject")
+                                .POST(json("{\"reason\":\"Faltan datos\"}")).build(),
+                        response -> drafts.add(id)));
+            case V2_DELETE:
+                return withEvent(approved, random, id -> new Call(operation,
+                        authorized(adminToken, "/api/v2/events/" + id).DELETE().build(), response -> { }));
+            case V2_CREATE:
+            default:
+                return create(random);
+        }
+    }
+
+    private Call withEvent(Queue<Long> pool, SplittableRandom random, LongFunction<Call> call) {
+        Long id = pool.poll();
+        return id != null ? call.apply(id) : create(random);
+    }
+
+    private Call create(SplittableRandom random) {
+        Instant start = Instant.parse("2026-06-01T00:00:00Z").plusSeconds(random.nextInt(365 * 24 * 3600));
+        String body = "{\"title\":\"Carga " + random.nextInt(1_000_000) + "\",\"description\":\"Evento de prueba de carga\","
+                + "\"startAt\":\"" + start + "\",\"endAt\":\"" + start.plusSeconds(7200) + "\"}";
+        return new Call(Operation.V2_CREATE, authorized(collabToken, "/api/v2/events").POST(json(body)).build(),
+                response -> drafts.add(idOf(response)));
+    }
+
+    private String login(String[] credentials) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(loginRequest(credentials), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed for " + credentials[0] + ": HTTP " + response.statusCode());
+        }
+        return mapper.readTree(response.body()).get("token").asText();
+    }
+
+    private HttpRequest loginRequest(String[] credentials) {
+        String body = "{\"username\":\"" + credentials[0] + "\",\"password\":\"" + credentials[1] + "\"}";
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login")).timeout(TIMEOUT).POST(json(body))
+                .header("Content-Type", "application/json").build();
+    }
+
+    private long idOf(HttpResponse<String> response) {
+        try {
+            return mapper.readTree(response.body()).get("id").asLong();
+        } catch (IOException e) {
+            throw new IllegalStateException("Unexpected response: " + response.body(), e);
+        }
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET();
+    }
+
+    private HttpRequest.Builder authorized(String token, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json");
+    }
+
+    private static HttpRequest.BodyPublisher json(String body) {
+        return HttpRequest.BodyPublishers.ofString(body);
+    }
+
+    private static HttpRequest.BodyPublisher noBody() {
+        return HttpRequest.BodyPublishers.noBody();
+    }
+
+    /**
+     * Petición lista para enviar y qué hacer con el evento si sale bien.
+     */
+    record Call(Operation operation, HttpRequest request, Consumer<HttpResponse<String>> onSuccess) {
+    }
+}
@@ -3,30 +3,31 @@ package com.docencia.aed.controller;
 import com.docencia.aed.domain.LoginRequest;
 import com.docencia.aed.domain.LoginResponse;
 import com.docencia.aed.infrastructure.security.JwtService;
+import com.docencia.aed.infrastructure.security.LoginPipeline;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
-    private final AuthenticationManager authenticationManager;
+    private final LoginPipeline loginPipeline;
     private final JwtService jwtService;
 
-    public AuthController(AuthenticationManager authenticationManager, JwtService jwtService) {
-        this.authenticationManager = authenticationManager;
+    public AuthController(LoginPipeline loginPipeline, JwtService jwtService) {
+        this.loginPipeline = loginPipeline;
         this.jwtService = jwtService;
     }
 
+    // Asíncrono: el hilo de Tomcat queda libre mientras se comprueba la contraseña
     @PostMapping("/login")
-    public ResponseEntity<LoginResponse> login(@Valid @RequestBody LoginRequest req) {
-        Authentication auth = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(req.getUsername(), req.getPassword()));
-        String token = jwtService.generateToken(auth);
-        return ResponseEntity.ok(new LoginResponse(token));
+    public CompletableFuture<ResponseEntity<LoginResponse>> login(@Valid @RequestBody LoginRequest req,
+            HttpServletRequest request) {
+        return loginPipeline.authenticate(req.getUsername(), req.getPassword(), request.getRemoteAddr())
+                .thenApply(auth -> ResponseEntity.ok(new LoginResponse(jwtService.generateToken(auth))));
     }
 }
@@ -0,0 +1,84 @@
+package com.docencia.aed.controller;
+
+import com.docencia.aed.domain.BatchItemResult;
+import com.docencia.aed.domain.BatchRequest;
+import com.docencia.aed.domain.EventCreateRequest;
+import com.docencia.aed.infrastructure.security.WriteRateLimiter;
+import com.docencia.aed.service.EventService;
+import com.docencia.aed.util.SecurityUtils;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Operaciones por lotes de la v2. Van en un controlador aparte porque las rutas
+ * "/events:batch..." no cuelgan de "/api/v2/events/". Cada elemento cuenta como una
+ * escritura para el límite por usuario: un lote que no cabe entero en lo que le queda
+ * al usuario se rechaza con 429 sin aplicar nada.
+ *
+ * En las transiciones cada resultado es el de la operación suelta sobre una versión
+ * concreta del evento: la que reemplaza si se aplica, la que había al empezar el lote
+ * si se rechaza (ver EventServiceImpl.updateBatch).
+ */
+@RestController
+@RequestMapping("/api/v2")
+@Tag(name = "Events V2", description = "Complete event management for users and administrators")
+public class EventBatchControllerV2 {
+
+    private final EventService service;
+    private final WriteRateLimiter rateLimiter;
+
+    public EventBatchControllerV2(EventService service, WriteRateLimiter rateLimiter) {
+        this.service = service;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @PostMapping("/events:batch")
+    @Operation(summary = "Create events in batch", description = "Creates every event of the array in a single "
+            + "write. Returns one result per item, in the same order, with the status each one would have had")
+    public ResponseEntity<List<BatchItemResult>> create(@RequestBody List<EventCreateRequest> reqs,
+                                                        HttpServletResponse response) {
+        rateLimiter.acquire(writes(reqs), response);
+        return ResponseEntity.ok(service.createBatch(SecurityUtils.username(), SecurityUtils.isAdmin(), reqs));
+    }
+
+    @PostMapping("/events:batch-submit")
+    @Operation(summary = "Submit events for approval in batch", description = "Submits the given ids. "
+            + "Returns one result per id, in the same order")
+    public ResponseEntity<List<BatchItemResult>> submit(@RequestBody BatchRequest req,
+                                                        HttpServletResponse response) {
+        rateLimiter.acquire(writes(req.getIds()), response);
+        return ResponseEntity.ok(service.submitBatch(SecurityUtils.username(), SecurityUtils.isAdmin(),
+                req.getIds()));
+    }
+
+    @PostMapping("/events:batch-approve")
+    @Operation(summary = "Approve events in batch", description = "Approves the given ids (admins only). "
+            + "Returns one result per id, in the same order")
+    public ResponseEntity<List<BatchItemResult>> approve(@RequestBody BatchRequest req,
+                                                         HttpServletResponse response) {
+        rateLimiter.acquire(writes(req.getIds()), response);
+        return ResponseEntity.ok(service.approveBatch(SecurityUtils.username(), SecurityUtils.isAdmin(),
+                req.getIds()));
+    }
+
+    @PostMapping("/events:batch-reject")
+    @Operation(summary = "Reject events in batch", description = "Rejects the given ids with the same reason "
+            + "(admins only). Returns one result per id, in the same order")
+    public ResponseEntity<List<BatchItemResult>> reject(@RequestBody BatchRequest req,
+                                                        HttpServletResponse response) {
+        rateLimiter.acquire(writes(req.getIds()), response);
+        return ResponseEntity.ok(service.rejectBatch(SecurityUtils.username(), SecurityUtils.isAdmin(),
+                req.getIds(), req.getReason()));
+    }
+
+    // Un lote vacío cuesta lo mismo que cualquier otra petición de escritura
+    private static int writes(List<?> items) {
+        return items != null ? Math.max(items.size(), 1) : 1;
+    }
+}
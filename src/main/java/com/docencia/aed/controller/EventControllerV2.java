@@ -1,79 +1,196 @@
 package com.docencia.aed.controller;
 
 import com.docencia.aed.domain.EventCreateRequest;
+import com.docencia.aed.domain.EventPage;
 import com.docencia.aed.domain.EventPatchRequest;
 import com.docencia.aed.domain.RejectRequest;
 import com.docencia.aed.entity.Event;
 import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.exception.BadRequestException;
+import com.docencia.aed.exception.NotAcceptableException;
 import com.docencia.aed.service.EventService;
 import com.docencia.aed.util.SecurityUtils;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/v2/events")
 @Tag(name = "Events V2", description = "Complete event management for users and administrators")
 public class EventControllerV2 {
 
+    private static final int EXPORT_FLUSH_EVERY = 256;
+    private static final String LAST_EVENT_ID = "Last-Event-ID";
+
     private final EventService service;
+    private final ObjectMapper mapper;
+    // Sin flush tras cada evento: se vacía el buffer cada EXPORT_FLUSH_EVERY líneas
+    private final ObjectWriter exportWriter;
 
-    public EventControllerV2(EventService service) {
+    public EventControllerV2(EventService service, ObjectMapper mapper) {
         this.service = service;
+        this.mapper = mapper;
+        this.exportWriter = mapper.writerFor(Event.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
     @GetMapping
-    @Operation(summary = "List events", description = "Lists all events, optionally filtering by status")
-    public ResponseEntity<List<Event>> list(@RequestParam(value = "status", required = false) EventStatus status) {
-        return ResponseEntity.ok(service.listV2(SecurityUtils.username(), SecurityUtils.isAdmin(), status));
+    @Operation(summary = "List events", description = "Lists all events, optionally filtering by status. "
+            + "With after/limit the result is paginated and the next cursor is returned in the X-Next-Cursor header. "
+            + "With from/to (ISO-8601) returns the events overlapping that time window, ordered by start date. "
+            + "With q returns the events matching those words in title or description, most relevant first")
+    public ResponseEntity<List<Event>> list(@RequestParam(value = "status", required = false) EventStatus status,
+            @RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "from", required = false) Instant from,
+            @RequestParam(value = "to", required = false) Instant to,
+            @RequestParam(value = "q", required = false) String q) {
+        if (q != null) {
+            Pagination.rejectCursor(after);
+            Pagination.rejectWindow(from, to);
+            return ResponseEntity.ok(service.searchV2(SecurityUtils.username(), SecurityUtils.isAdmin(), status, q,
+                    limit));
+        }
+        if (from != null || to != null) {
+            Pagination.rejectCursor(after);
+            return ResponseEntity.ok(service.listV2Between(SecurityUtils.username(), SecurityUtils.isAdmin(), status,
+                    from, to, limit));
+        }
+        if (after == null && limit == null) {
+            return ResponseEntity.ok(service.listV2(SecurityUtils.username(), SecurityUtils.isAdmin(), status));
+        }
+        EventPage page = service.listV2Page(SecurityUtils.username(), SecurityUtils.isAdmin(), status, after, limit);
+        return Pagination.ok(page);
+    }
+
+    // /export y /changes sin produces: con un Accept que no encaja la petición caería en
+    // /{id} y respondería 400 por "export"; así se responde 406
+    @GetMapping("/export")
+    @Operation(summary = "Export events", description = "Streams the same events as the list, one JSON object "
+            + "per line, without building the whole response in memory")
+    public void export(@RequestParam(value = "status", required = false) EventStatus status,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            HttpServletResponse response) throws IOException {
+        requireAccept(accept, MediaType.APPLICATION_NDJSON);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        // Se escribe en el hilo de la petición: si el cliente lee despacio, el socket bloquea y no se lee más
+        try (Stream<Event> events = service.streamV2(SecurityUtils.username(), SecurityUtils.isAdmin(), status);
+                JsonGenerator json = mapper.getFactory().createGenerator(response.getOutputStream())) {
+            json.setRootValueSeparator(null);
+            int written = 0;
+            for (Iterator<Event> it = events.iterator(); it.hasNext();) {
+                exportWriter.writeValue(json, it.next());
+                json.writeRaw('\n');
+                if (++written % EXPORT_FLUSH_EVERY == 0) {
+                    json.flush();
+                }
+            }
+        }
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Event change feed", description = "Server-Sent Events with every create, update, "
+            + "submit, approve, reject and delete visible to the user. Each message id is a sequence number: "
+            + "reconnecting with Last-Event-ID resumes after it, or sends a reset event if it is too old")
+    public SseEmitter changes(@RequestHeader(value = LAST_EVENT_ID, required = false) String lastEventId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        requireAccept(accept, MediaType.TEXT_EVENT_STREAM);
+        return service.changes(SecurityUtils.username(), SecurityUtils.isAdmin(), lastEventId(lastEventId));
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get event by ID", description = "Get a specific event by its ID")
+    @Operation(summary = "Get event by ID", description = "Get a specific event by its ID. The ETag carries its version")
     public ResponseEntity<Event> get(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getV2ById(SecurityUtils.username(), SecurityUtils.isAdmin(), id));
+        return Versions.ok(service.getV2ById(SecurityUtils.username(), SecurityUtils.isAdmin(), id));
     }
 
     @PostMapping
     @Operation(summary = "Create event", description = "Create a new event")
     public ResponseEntity<Event> create(@Valid @RequestBody EventCreateRequest req) {
-        return ResponseEntity.ok(service.create(SecurityUtils.username(), SecurityUtils.isAdmin(), req));
+        return Versions.ok(service.create(SecurityUtils.username(), SecurityUtils.isAdmin(), req));
     }
 
     @PatchMapping("/{id}")
-    @Operation(summary = "Update event", description = "Partially update an existing event")
-    public ResponseEntity<Event> patch(@PathVariable Long id, @RequestBody EventPatchRequest req) {
-        return ResponseEntity.ok(service.patch(SecurityUtils.username(), SecurityUtils.isAdmin(), id, req));
+    @Operation(summary = "Update event", description = "Partially update an existing event. "
+            + "With If-Match it only applies to that version (412 otherwise)")
+    public ResponseEntity<Event> patch(@PathVariable Long id, @RequestBody EventPatchRequest req,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Versions.ok(service.patch(SecurityUtils.username(), SecurityUtils.isAdmin(), id, req,
+                Versions.ifMatch(ifMatch)));
     }
 
     @PostMapping("/{id}/submit")
     @Operation(summary = "Submit event for approval", description = "Marks an event as submitted for approval")
-    public ResponseEntity<Event> submit(@PathVariable Long id) {
-        return ResponseEntity.ok(service.submitForApproval(SecurityUtils.username(), SecurityUtils.isAdmin(), id));
+    public ResponseEntity<Event> submit(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Versions.ok(service.submitForApproval(SecurityUtils.username(), SecurityUtils.isAdmin(), id,
+                Versions.ifMatch(ifMatch)));
     }
 
     @PostMapping("/{id}/approve")
     @Operation(summary = "Approve event", description = "Approve an event (admins only)")
-    public ResponseEntity<Event> approve(@PathVariable Long id) {
-        return ResponseEntity.ok(service.approve(SecurityUtils.username(), SecurityUtils.isAdmin(), id));
+    public ResponseEntity<Event> approve(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Versions.ok(service.approve(SecurityUtils.username(), SecurityUtils.isAdmin(), id,
+                Versions.ifMatch(ifMatch)));
     }
 
     @PostMapping("/{id}/reject")
     @Operation(summary = "Reject event", description = "Reject an event with a reason (admins only)")
-    public ResponseEntity<Event> reject(@PathVariable Long id, @Valid @RequestBody RejectRequest req) {
-        return ResponseEntity
-                .ok(service.reject(SecurityUtils.username(), SecurityUtils.isAdmin(), id, req.getReason()));
+    public ResponseEntity<Event> reject(@PathVariable Long id, @Valid @RequestBody RejectRequest req,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return Versions.ok(service.reject(SecurityUtils.username(), SecurityUtils.isAdmin(), id, req.getReason(),
+                Versions.ifMatch(ifMatch)));
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete event", description = "Delete an event by ID")
-    public ResponseEntity<Void> delete(@PathVariable Long id) {
-        service.delete(SecurityUtils.username(), SecurityUtils.isAdmin(), id);
+    public ResponseEntity<Void> delete(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        service.delete(SecurityUtils.username(), SecurityUtils.isAdmin(), id, Versions.ifMatch(ifMatch));
         return ResponseEntity.noContent().build();
     }
+
+    private static void requireAccept(String accept, MediaType produced) {
+        if (accept == null || accept.isBlank()) {
+            return;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            throw new BadRequestException("Invalid Accept header: " + accept);
+        }
+        if (accepted.stream().noneMatch(type -> type.isCompatibleWith(produced))) {
+            throw new NotAcceptableException("This endpoint only produces " + produced);
+        }
+    }
+
+    private static Long lastEventId(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid Last-Event-ID: " + header);
+        }
+    }
 }
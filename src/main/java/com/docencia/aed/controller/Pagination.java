@@ -0,0 +1,40 @@
+package com.docencia.aed.controller;
+
+import com.docencia.aed.domain.EventPage;
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.exception.BadRequestException;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * El cuerpo sigue siendo un array de eventos (compatible con los clientes actuales);
+ * el cursor de la siguiente página viaja en la cabecera X-Next-Cursor.
+ */
+public final class Pagination {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private Pagination() {}
+
+    static ResponseEntity<List<Event>> ok(EventPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return response.body(page.getItems());
+    }
+
+    // Las ventanas temporales y las búsquedas no van ordenadas por id, así que un cursor por id no aplica
+    public static void rejectCursor(Long after) {
+        if (after != null) {
+            throw new BadRequestException("The after cursor can only be used on plain listings");
+        }
+    }
+
+    public static void rejectWindow(Instant from, Instant to) {
+        if (from != null || to != null) {
+            throw new BadRequestException("A text search cannot be combined with a from/to time window");
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package com.docencia.aed.controller;
 
+import com.docencia.aed.domain.CachedJson;
+import com.docencia.aed.domain.EventPage;
 import com.docencia.aed.entity.Event;
 import com.docencia.aed.service.EventService;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -21,14 +31,51 @@ public class PublicEventController {
     }
 
     @GetMapping
-    @Operation(summary = "List approved events", description = "Returns all approved events for the public")
-    public ResponseEntity<List<Event>> listApproved() {
-        return ResponseEntity.ok(service.listPublicApproved());
+    @Operation(summary = "List approved events", description = "Returns approved events for the public. "
+            + "With after/limit the result is paginated and the next cursor is returned in the X-Next-Cursor header. "
+            + "With from/to (ISO-8601) returns the events overlapping that time window, ordered by start date. "
+            + "With q returns the events matching those words in title or description, most relevant first")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            array = @ArraySchema(schema = @Schema(implementation = Event.class))))
+    public ResponseEntity<?> listApproved(@RequestParam(value = "after", required = false) Long after,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "from", required = false) Instant from,
+            @RequestParam(value = "to", required = false) Instant to,
+            @RequestParam(value = "q", required = false) String q, WebRequest request) {
+        if (q != null) {
+            Pagination.rejectCursor(after);
+            Pagination.rejectWindow(from, to);
+            return ResponseEntity.ok(service.searchPublicApproved(q, limit));
+        }
+        if (from != null || to != null) {
+            Pagination.rejectCursor(after);
+            return ResponseEntity.ok(service.listPublicApprovedBetween(from, to, limit));
+        }
+        if (after == null && limit == null) {
+            return cached(service.listPublicApprovedJson(), request);
+        }
+        EventPage page = service.listPublicApprovedPage(after, limit);
+        return Pagination.ok(page);
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get approved event by ID", description = "Returns a specific approved event by ID")
-    public ResponseEntity<Event> getApproved(@PathVariable Long id) {
-        return ResponseEntity.ok(service.getPublicApprovedById(id));
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = "application/json",
+            schema = @Schema(implementation = Event.class)))
+    public ResponseEntity<?> getApproved(@PathVariable Long id, WebRequest request) {
+        return cached(service.getPublicApprovedJson(id), request);
+    }
+
+    /**
+     * Devuelve los bytes ya serializados, o 304 sin cuerpo si el cliente tiene esa versión (If-None-Match).
+     */
+    private ResponseEntity<?> cached(CachedJson json, WebRequest request) {
+        if (request.checkNotModified(json.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(json.getEtag()).build();
+        }
+        return ResponseEntity.ok()
+                .eTag(json.getEtag())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json.getBody());
     }
 }
@@ -0,0 +1,39 @@
+package com.docencia.aed.controller;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.exception.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * La versión del evento viaja como ETag ("3") y se devuelve en If-Match para que
+ * la escritura solo se aplique si nadie ha modificado el evento entretanto (412 si no).
+ */
+final class Versions {
+
+    private Versions() {}
+
+    static ResponseEntity<Event> ok(Event event) {
+        return ResponseEntity.ok().eTag(Long.toString(event.getVersion())).body(event);
+    }
+
+    /**
+     * Versión pedida en If-Match, o null si no hay cabecera o es "*".
+     */
+    static Long ifMatch(String header) {
+        if (header == null || header.isBlank() || "*".equals(header.trim())) {
+            return null;
+        }
+        String value = header.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not match the current version of the event");
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.docencia.aed.controller.reactive;
+
+import com.docencia.aed.controller.Pagination;
+import com.docencia.aed.domain.CachedJson;
+import com.docencia.aed.domain.EventPage;
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.exception.BadRequestException;
+import com.docencia.aed.exception.ErrorBody;
+import com.docencia.aed.exception.ErrorStatus;
+import com.docencia.aed.repository.reactive.ReactiveEventRepository;
+import com.docencia.aed.service.EventService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Variante reactiva de la API pública v1 (la de PublicEventController), con las mismas
+ * rutas y parámetros. El listado completo se envía en streaming según lo va leyendo el
+ * cliente: como array JSON, o un evento por línea si pide application/x-ndjson.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class PublicEventRoutes {
+
+    private final EventService service;
+    private final ReactiveEventRepository events;
+
+    public PublicEventRoutes(EventService service, ReactiveEventRepository events) {
+        this.service = service;
+        this.events = events;
+    }
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                // defer: así los errores al leer parámetros también pasan por onError
+                .GET("/api/v1/events", request -> Mono.defer(() -> list(request)))
+                .GET("/api/v1/events/{id}", request -> Mono.defer(() -> get(request)))
+                .onError(Exception.class, this::error)
+                .build();
+    }
+
+    private Mono<ServerResponse> list(ServerRequest request) {
+        String q = request.queryParam("q").orElse(null);
+        Long after = param(request, "after", Long::valueOf);
+        Integer limit = param(request, "limit", Integer::valueOf);
+        Instant from = param(request, "from", Instant::parse);
+        Instant to = param(request, "to", Instant::parse);
+
+        if (q != null) {
+            Pagination.rejectCursor(after);
+            Pagination.rejectWindow(from, to);
+            return events.read(() -> service.searchPublicApproved(q, limit)).flatMap(this::ok);
+        }
+        if (from != null || to != null) {
+            Pagination.rejectCursor(after);
+            return events.read(() -> service.listPublicApprovedBetween(from, to, limit)).flatMap(this::ok);
+        }
+        if (after != null || limit != null) {
+            return events.read(() -> service.listPublicApprovedPage(after, limit)).flatMap(this::page);
+        }
+
+        MediaType type = request.headers().accept().contains(MediaType.APPLICATION_NDJSON)
+                ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ServerResponse.ok().contentType(type)
+                .body(events.findByStatus(EventStatus.APPROVED), Event.class);
+    }
+
+    private Mono<ServerResponse> get(ServerRequest request) {
+        Long id = parse(request.pathVariable("id"), "id", Long::valueOf);
+        return events.read(() -> service.getPublicApprovedJson(id)).flatMap(json -> cached(json, request));
+    }
+
+    private Mono<ServerResponse> ok(List<Event> items) {
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).bodyValue(items);
+    }
+
+    private Mono<ServerResponse> page(EventPage page) {
+        ServerResponse.BodyBuilder response = ServerResponse.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.getNextCursor() != null) {
+            response.header(Pagination.NEXT_CURSOR_HEADER, page.getNextCursor().toString());
+        }
+        return response.bodyValue(page.getItems());
+    }
+
+    // Como en MVC: los bytes ya serializados, o 304 si el cliente tiene esa versión
+    private Mono<ServerResponse> cached(CachedJson json, ServerRequest request) {
+        String etag = "\"" + json.getEtag() + "\"";
+        List<String> ifNoneMatch = request.headers().header(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch.stream().anyMatch(v -> v.equals("*") || v.contains(etag))) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ServerResponse.ok().contentType(MediaType.APPLICATION_JSON).eTag(etag).bodyValue(json.getBody());
+    }
+
+    private Mono<ServerResponse> error(Throwable ex, ServerRequest request) {
+        HttpStatus status = ErrorStatus.of(ex);
+        return ServerResponse.status(status).contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ErrorBody.of(status, ex.getMessage(), request.path()));
+    }
+
+    private static <T> T param(ServerRequest request, String name, Function<String, T> parser) {
+        return request.queryParam(name).map(value -> parse(value, name, parser)).orElse(null);
+    }
+
+    private static <T> T parse(String value, String name, Function<String, T> parser) {
+        try {
+            return parser.apply(value);
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid value for " + name + ": " + value);
+        }
+    }
+}
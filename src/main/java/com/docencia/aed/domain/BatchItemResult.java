@@ -0,0 +1,37 @@
+package com.docencia.aed.domain;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.exception.ErrorStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de un elemento de un lote: el código HTTP que habría devuelto la
+ * operación suelta y, según el caso, el evento resultante o el mensaje de error.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    private final Long id;
+    private final int status;
+    private final Event event;
+    private final String error;
+
+    public BatchItemResult(Long id, int status, Event event, String error) {
+        this.id = id;
+        this.status = status;
+        this.event = event;
+        this.error = error;
+    }
+
+    public static BatchItemResult ok(Event event) {
+        return new BatchItemResult(event.getId(), 200, event, null);
+    }
+
+    public static BatchItemResult failed(Long id, RuntimeException ex) {
+        return new BatchItemResult(id, ErrorStatus.of(ex).value(), null, ex.getMessage());
+    }
+
+    public Long getId() { return id; }
+    public int getStatus() { return status; }
+    public Event getEvent() { return event; }
+    public String getError() { return error; }
+}
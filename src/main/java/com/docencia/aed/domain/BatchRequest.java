@@ -0,0 +1,17 @@
+package com.docencia.aed.domain;
+
+import java.util.List;
+
+/**
+ * Cuerpo de las transiciones por lotes. reason solo se usa (y es obligatorio) al rechazar.
+ */
+public class BatchRequest {
+    private List<Long> ids;
+    private String reason;
+
+    public List<Long> getIds() { return ids; }
+    public void setIds(List<Long> ids) { this.ids = ids; }
+
+    public String getReason() { return reason; }
+    public void setReason(String reason) { this.reason = reason; }
+}
@@ -0,0 +1,17 @@
+package com.docencia.aed.domain;
+
+/**
+ * Respuesta ya serializada a JSON junto con su ETag fuerte.
+ */
+public class CachedJson {
+    private final byte[] body;
+    private final String etag;
+
+    public CachedJson(byte[] body, String etag) {
+        this.body = body;
+        this.etag = etag;
+    }
+
+    public byte[] getBody() { return body; }
+    public String getEtag() { return etag; }
+}
@@ -0,0 +1,37 @@
+package com.docencia.aed.domain;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+
+/**
+ * Un cambio del feed. sequence crece de uno en uno y es el id del mensaje SSE;
+ * event es el estado tras el cambio (null si se ha borrado).
+ */
+public class EventChange {
+    private final long sequence;
+    private final EventChangeType type;
+    private final Long eventId;
+    private final long version;
+    private final EventStatus status;
+    private final String createdBy;
+    private final Event event;
+
+    public EventChange(long sequence, EventChangeType type, Long eventId, long version, EventStatus status,
+            String createdBy, Event event) {
+        this.sequence = sequence;
+        this.type = type;
+        this.eventId = eventId;
+        this.version = version;
+        this.status = status;
+        this.createdBy = createdBy;
+        this.event = event;
+    }
+
+    public long getSequence() { return sequence; }
+    public EventChangeType getType() { return type; }
+    public Long getEventId() { return eventId; }
+    public long getVersion() { return version; }
+    public EventStatus getStatus() { return status; }
+    public String getCreatedBy() { return createdBy; }
+    public Event getEvent() { return event; }
+}
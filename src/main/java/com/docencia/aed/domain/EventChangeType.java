@@ -0,0 +1,10 @@
+package com.docencia.aed.domain;
+
+public enum EventChangeType {
+    CREATED,
+    UPDATED,
+    SUBMITTED,
+    APPROVED,
+    REJECTED,
+    DELETED
+}
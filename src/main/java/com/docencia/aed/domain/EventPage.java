@@ -0,0 +1,26 @@
+package com.docencia.aed.domain;
+
+import com.docencia.aed.entity.Event;
+
+import java.util.List;
+
+/**
+ * Página de eventos ordenada por id. nextCursor es el id a pasar como "after"
+ * para pedir la siguiente página, o null si no hay más.
+ */
+public class EventPage {
+    private List<Event> items;
+    private Long nextCursor;
+
+    public EventPage() {}
+    public EventPage(List<Event> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Event> getItems() { return items; }
+    public void setItems(List<Event> items) { this.items = items; }
+
+    public Long getNextCursor() { return nextCursor; }
+    public void setNextCursor(Long nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -31,9 +31,32 @@ public class Event {
     private Instant approvedAt;
     private String rejectionReason;
 
+    // control de concurrencia optimista: lo asigna el repositorio en cada escritura
+    private long version;
+
     public Event() {
     }
 
+    /**
+     * Copia para modificar. Las instancias guardadas en el repositorio no se mutan:
+     * se copia, se cambia la copia y se guarda con la versión leída.
+     */
+    public Event(Event other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.startAt = other.startAt;
+        this.endAt = other.endAt;
+        this.status = other.status;
+        this.createdBy = other.createdBy;
+        this.createdAt = other.createdAt;
+        this.updatedAt = other.updatedAt;
+        this.approvedBy = other.approvedBy;
+        this.approvedAt = other.approvedAt;
+        this.rejectionReason = other.rejectionReason;
+        this.version = other.version;
+    }
+
     // Getters/Setters
     public Long getId() {
         return id;
@@ -130,4 +153,12 @@ public class Event {
     public void setRejectionReason(String rejectionReason) {
         this.rejectionReason = rejectionReason;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
@@ -1,6 +1,9 @@
 package com.docencia.aed.exception;
 
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends DomainException {
+
+    private static final long serialVersionUID = 1L;
+
     public BadRequestException(String message) {
         super(message);
     }
@@ -1,6 +1,8 @@
 package com.docencia.aed.exception;
 
-public class ConflictException extends RuntimeException{
+public class ConflictException extends DomainException {
+
+    private static final long serialVersionUID = 1L;
 
     public ConflictException(String mensaje){
         super(mensaje);
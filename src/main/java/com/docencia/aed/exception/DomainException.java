@@ -0,0 +1,15 @@
+package com.docencia.aed.exception;
+
+/**
+ * Base de las excepciones de dominio: errores esperados que acaban en un 4xx, no
+ * fallos del programa. No capturan la traza (es lo más caro de crear una excepción
+ * y nadie la mira), así que lanzarlas cuesta poco más que crear el objeto.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,74 @@
+package com.docencia.aed.exception;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * El JSON de ApiError escrito directamente en bytes, para las respuestas de error
+ * frecuentes (404, 403, 429...). Lo fijo de cada código (status y error) se prepara
+ * una vez al cargar la clase; por respuesta solo se añaden la hora, el mensaje y la
+ * ruta, sin pasar por el ObjectMapper.
+ */
+public final class ErrorBody {
+
+    private static final byte[] START = ascii("{\"timestamp\":\"");
+    private static final byte[] MESSAGE = ascii(",\"message\":");
+    private static final byte[] PATH = ascii(",\"path\":");
+    private static final byte[] NULL = ascii("null");
+    private static final Map<HttpStatus, byte[]> STATUS = new EnumMap<>(HttpStatus.class);
+
+    static {
+        for (HttpStatus status : HttpStatus.values()) {
+            STATUS.put(status, ascii("\",\"status\":" + status.value() + ",\"error\":\""
+                    + status.getReasonPhrase() + "\""));
+        }
+    }
+
+    private ErrorBody() {}
+
+    public static byte[] of(HttpStatus status, String message, String path) {
+        byte[] timestamp = ascii(Instant.now().toString());
+        byte[] fixed = STATUS.get(status);
+        byte[] quotedMessage = quote(message);
+        byte[] quotedPath = quote(path);
+
+        byte[] body = new byte[START.length + timestamp.length + fixed.length + MESSAGE.length
+                + quotedMessage.length + PATH.length + quotedPath.length + 1];
+        int at = 0;
+        at = put(body, at, START);
+        at = put(body, at, timestamp);
+        at = put(body, at, fixed);
+        at = put(body, at, MESSAGE);
+        at = put(body, at, quotedMessage);
+        at = put(body, at, PATH);
+        at = put(body, at, quotedPath);
+        body[at] = '}';
+        return body;
+    }
+
+    private static byte[] quote(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        byte[] escaped = JsonStringEncoder.getInstance().quoteAsUTF8(value);
+        byte[] quoted = new byte[escaped.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(escaped, 0, quoted, 1, escaped.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+
+    private static int put(byte[] body, int at, byte[] part) {
+        System.arraycopy(part, 0, body, at, part.length);
+        return at + part.length;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,41 @@
+package com.docencia.aed.exception;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Código HTTP de cada excepción de dominio, para cuando no hay un handler que la
+ * convierta (por ejemplo, los resultados por elemento de un lote).
+ */
+public final class ErrorStatus {
+
+    private ErrorStatus() {}
+
+    public static HttpStatus of(Throwable ex) {
+        if (ex instanceof ResourceNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (ex instanceof BadRequestException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (ex instanceof ForbiddenException) {
+            return HttpStatus.FORBIDDEN;
+        }
+        if (ex instanceof ConflictException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (ex instanceof NotAcceptableException) {
+            return HttpStatus.NOT_ACCEPTABLE;
+        }
+        if (ex instanceof PreconditionFailedException) {
+            return HttpStatus.PRECONDITION_FAILED;
+        }
+        if (ex instanceof TooManyRequestsException) {
+            return HttpStatus.TOO_MANY_REQUESTS;
+        }
+        if (ex instanceof DataAccessResourceFailureException) {
+            return HttpStatus.SERVICE_UNAVAILABLE;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+}
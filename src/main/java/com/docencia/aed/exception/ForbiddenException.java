@@ -1,6 +1,9 @@
 package com.docencia.aed.exception;
 
-public class ForbiddenException extends RuntimeException {
+public class ForbiddenException extends DomainException {
+
+    private static final long serialVersionUID = 1L;
+
     public ForbiddenException(String message) {
         super(message);
     }
@@ -1,37 +1,119 @@
 package com.docencia.aed.exception;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.apache.catalina.connector.ClientAbortException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestNotUsableException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
     @ExceptionHandler(ResourceNotFoundException.class)
-    public ResponseEntity<ApiError> notFound(ResourceNotFoundException ex, HttpServletRequest req) {
+    public ResponseEntity<byte[]> notFound(ResourceNotFoundException ex, HttpServletRequest req) {
         return build(HttpStatus.NOT_FOUND, ex.getMessage(), req.getRequestURI());
     }
 
-    @ExceptionHandler(BadRequestException.class)
-    public ResponseEntity<ApiError> badRequest(BadRequestException ex, HttpServletRequest req) {
+    // También lo que Spring rechaza antes de llegar al controlador: un id que no es un
+    // número, un parámetro que falta o un cuerpo que no es JSON válido
+    @ExceptionHandler({BadRequestException.class, MethodArgumentTypeMismatchException.class,
+            MissingServletRequestParameterException.class, HttpMessageNotReadableException.class})
+    public ResponseEntity<byte[]> badRequest(Exception ex, HttpServletRequest req) {
         return build(HttpStatus.BAD_REQUEST, ex.getMessage(), req.getRequestURI());
     }
 
+    // @Valid sobre el cuerpo: un mensaje por campo, sin el volcado entero de la validación
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<byte[]> invalid(MethodArgumentNotValidException ex, HttpServletRequest req) {
+        String message = ex.getBindingResult().getFieldErrors().stream()
+                .map(error -> error.getField() + ": " + error.getDefaultMessage())
+                .collect(Collectors.joining(", "));
+        return build(HttpStatus.BAD_REQUEST, message.isEmpty() ? "Invalid request body" : message,
+                req.getRequestURI());
+    }
+
+    // Credenciales incorrectas en el login
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<byte[]> unauthorized(AuthenticationException ex, HttpServletRequest req) {
+        return build(HttpStatus.UNAUTHORIZED, ex.getMessage(), req.getRequestURI());
+    }
+
+    // Lo que falla dentro de un CompletableFuture (el login) llega envuelto
+    @ExceptionHandler(CompletionException.class)
+    public ResponseEntity<?> completion(CompletionException ex, HttpServletRequest req) {
+        if (ex.getCause() instanceof AuthenticationException cause) {
+            return unauthorized(cause, req);
+        }
+        return other(ex.getCause() instanceof Exception cause ? cause : ex, req);
+    }
+
     @ExceptionHandler({ForbiddenException.class, AccessDeniedException.class})
-    public ResponseEntity<ApiError> forbidden(Exception ex, HttpServletRequest req) {
+    public ResponseEntity<byte[]> forbidden(Exception ex, HttpServletRequest req) {
         return build(HttpStatus.FORBIDDEN, ex.getMessage(), req.getRequestURI());
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<byte[]> conflict(ConflictException ex, HttpServletRequest req) {
+        return build(HttpStatus.CONFLICT, ex.getMessage(), req.getRequestURI());
+    }
+
+    @ExceptionHandler(NotAcceptableException.class)
+    public ResponseEntity<byte[]> notAcceptable(NotAcceptableException ex, HttpServletRequest req) {
+        return build(HttpStatus.NOT_ACCEPTABLE, ex.getMessage(), req.getRequestURI());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<byte[]> preconditionFailed(PreconditionFailedException ex, HttpServletRequest req) {
+        return build(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), req.getRequestURI());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<byte[]> tooManyRequests(TooManyRequestsException ex, HttpServletRequest req) {
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        return ResponseEntity.status(status)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(ErrorBody.of(status, ex.getMessage(), req.getRequestURI()));
+    }
+
+    // El almacén no puede escribir: p. ej. ha fallado el log de persistencia y el
+    // repositorio en memoria ha pasado a solo lectura. Las lecturas siguen funcionando
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    public ResponseEntity<byte[]> unavailable(DataAccessResourceFailureException ex, HttpServletRequest req) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), req.getRequestURI());
+    }
+
+    // Fallo al escribir la respuesta porque el cliente se ha desconectado (p. ej. cerró
+    // el feed SSE o la exportación): no hay a quién responder. Cualquier otra IOException
+    // (base de datos, disco...) es un error de verdad y acaba en 500
+    @ExceptionHandler({AsyncRequestNotUsableException.class, ClientAbortException.class})
+    public void clientGone() {
+    }
+
+    // Lo inesperado no es frecuente: va por Jackson como siempre
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> other(Exception ex, HttpServletRequest req) {
-        return build(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), req.getRequestURI());
+        HttpStatus status = HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status)
+                .body(new ApiError(status.value(), status.getReasonPhrase(), ex.getMessage(), req.getRequestURI()));
     }
 
-    private ResponseEntity<ApiError> build(HttpStatus status, String message, String path) {
-        ApiError err = new ApiError(status.value(), status.getReasonPhrase(), message, path);
-        return ResponseEntity.status(status).body(err);
+    private ResponseEntity<byte[]> build(HttpStatus status, String message, String path) {
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON)
+                .body(ErrorBody.of(status, message, path));
     }
 }
@@ -0,0 +1,10 @@
+package com.docencia.aed.exception;
+
+public class NotAcceptableException extends DomainException {
+
+    private static final long serialVersionUID = 1L;
+
+    public NotAcceptableException(String mensaje){
+        super(mensaje);
+    }
+}
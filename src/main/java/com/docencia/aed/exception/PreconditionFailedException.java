@@ -0,0 +1,10 @@
+package com.docencia.aed.exception;
+
+public class PreconditionFailedException extends DomainException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
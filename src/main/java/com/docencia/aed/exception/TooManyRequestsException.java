@@ -0,0 +1,18 @@
+package com.docencia.aed.exception;
+
+public class TooManyRequestsException extends DomainException {
+
+    private static final long serialVersionUID = 1L;
+
+    // Segundos que el cliente debería esperar antes de reintentar (cabecera Retry-After)
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,24 @@
+package com.docencia.aed.infrastructure.feed;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.changes")
+public class ChangeFeedProperties {
+
+    private int capacity = 10_000;
+    private long heartbeatMillis = 15_000;
+    private long timeoutMillis = 1_800_000;
+    private int dispatchThreads = 4;
+
+    public int getCapacity() { return capacity; }
+    public void setCapacity(int capacity) { this.capacity = capacity; }
+
+    public long getHeartbeatMillis() { return heartbeatMillis; }
+    public void setHeartbeatMillis(long heartbeatMillis) { this.heartbeatMillis = heartbeatMillis; }
+
+    public long getTimeoutMillis() { return timeoutMillis; }
+    public void setTimeoutMillis(long timeoutMillis) { this.timeoutMillis = timeoutMillis; }
+
+    public int getDispatchThreads() { return dispatchThreads; }
+    public void setDispatchThreads(int dispatchThreads) { this.dispatchThreads = dispatchThreads; }
+}
@@ -0,0 +1,9 @@
+package com.docencia.aed.infrastructure.observability;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SlowOperationProperties.class)
+public class ObservabilityConfig {
+}
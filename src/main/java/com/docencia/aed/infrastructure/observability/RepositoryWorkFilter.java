@@ -0,0 +1,120 @@
+package com.docencia.aed.infrastructure.observability;
+
+import com.docencia.aed.infrastructure.security.Role;
+import com.docencia.aed.repository.RepositoryWork;
+import com.docencia.aed.util.SecurityUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Abre la contabilidad de repositorio (RepositoryWork) de cada petición y la deja en el
+ * atributo {@code RepositoryWork.class.getName()}. Si al terminar se ha pasado de algún
+ * umbral de app.slow-operations, escribe una línea JSON en el logger "slow-operations"
+ * con el endpoint, el rol, la forma de la petición (nombres de parámetros, sin valores)
+ * y lo que hizo cada tipo de consulta.
+ *
+ * Va dentro de la cadena de Spring Security, así que al terminar todavía se conoce el usuario.
+ */
+@Component
+public class RepositoryWorkFilter extends OncePerRequestFilter {
+
+    public static final String ATTRIBUTE = RepositoryWork.class.getName();
+
+    private static final Logger slowLog = LoggerFactory.getLogger("slow-operations");
+
+    private final SlowOperationProperties props;
+    private final ObjectMapper mapper;
+
+    public RepositoryWorkFilter(SlowOperationProperties props, ObjectMapper mapper) {
+        this.props = props;
+        this.mapper = mapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !props.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RepositoryWork work = RepositoryWork.start();
+        request.setAttribute(ATTRIBUTE, work);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RepositoryWork.stop();
+            if (isSlow(work.getTotal())) {
+                log(request, response, work, System.nanoTime() - start);
+            }
+        }
+    }
+
+    private boolean isSlow(RepositoryWork.Totals total) {
+        return total.getNanos() >= props.getRepositoryMillis() * 1_000_000
+                || total.getExamined() >= props.getExamined()
+                || total.getCalls() >= props.getCalls();
+    }
+
+    private void log(HttpServletRequest request, HttpServletResponse response, RepositoryWork work, long nanos) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        entry.put("endpoint", request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+        entry.put("status", response.getStatus());
+        entry.put("role", role());
+        entry.put("params", new TreeSet<>(request.getParameterMap().keySet()));
+        entry.put("elapsedMillis", millis(nanos));
+        entry.put("repository", totals(work.getTotal()));
+        Map<String, Object> queries = new LinkedHashMap<>();
+        work.getQueries().forEach((query, totals) -> queries.put(query, totals(totals)));
+        entry.put("queries", queries);
+        try {
+            slowLog.warn(mapper.writeValueAsString(entry));
+        } catch (JsonProcessingException e) {
+            slowLog.warn("Could not serialize slow operation for {}", entry.get("endpoint"), e);
+        }
+    }
+
+    private static Map<String, Object> totals(RepositoryWork.Totals totals) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("calls", totals.getCalls());
+        values.put("millis", millis(totals.getNanos()));
+        values.put("examined", totals.getExamined());
+        values.put("returned", totals.getReturned());
+        values.put("sortMillis", millis(totals.getSortNanos()));
+        return values;
+    }
+
+    private static String role() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || auth instanceof AnonymousAuthenticationToken) {
+            return "anonymous";
+        }
+        if (SecurityUtils.isAdmin()) {
+            return Role.ADMIN.name();
+        }
+        return SecurityUtils.hasRole(Role.COLLABORATOR) ? Role.COLLABORATOR.name() : "authenticated";
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
@@ -0,0 +1,25 @@
+package com.docencia.aed.infrastructure.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.slow-operations")
+public class SlowOperationProperties {
+
+    private boolean enabled = true;
+    // Basta con pasar uno de los umbrales para que la petición vaya al log
+    private long repositoryMillis = 100;
+    private long examined = 10_000;
+    private int calls = 1_000;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public long getRepositoryMillis() { return repositoryMillis; }
+    public void setRepositoryMillis(long repositoryMillis) { this.repositoryMillis = repositoryMillis; }
+
+    public long getExamined() { return examined; }
+    public void setExamined(long examined) { this.examined = examined; }
+
+    public int getCalls() { return calls; }
+    public void setCalls(int calls) { this.calls = calls; }
+}
@@ -0,0 +1,36 @@
+package com.docencia.aed.infrastructure.persistence;
+
+import com.docencia.aed.repository.EventRepository;
+import com.docencia.aed.repository.cache.CachingEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(StoreProperties.class)
+public class PersistenceConfig {
+
+    /**
+     * Con app.store.cache.enabled el repositorio que esté activo (en memoria o JDBC) se
+     * sirve envuelto en CachingEventRepository. static y con ObjectProvider para no
+     * adelantar la creación de otros beans al registrar el post-procesador.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.store.cache", name = "enabled", havingValue = "true")
+    static BeanPostProcessor cachingEventRepository(ObjectProvider<StoreProperties> props,
+                                                    ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof EventRepository repo) {
+                    return new CachingEventRepository(repo, props.getObject().getCache(), registry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,147 @@
+package com.docencia.aed.infrastructure.persistence;
+
+import com.docencia.aed.entity.EventStatus;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "app.store")
+public class StoreProperties {
+
+    private Journal journal = new Journal();
+    private Seed seed = new Seed();
+    private Jdbc jdbc = new Jdbc();
+    private Cache cache = new Cache();
+
+    public Journal getJournal() { return journal; }
+    public void setJournal(Journal journal) { this.journal = journal; }
+
+    public Seed getSeed() { return seed; }
+    public void setSeed(Seed seed) { this.seed = seed; }
+
+    public Jdbc getJdbc() { return jdbc; }
+    public void setJdbc(Jdbc jdbc) { this.jdbc = jdbc; }
+
+    public Cache getCache() { return cache; }
+    public void setCache(Cache cache) { this.cache = cache; }
+
+    public static class Journal {
+        private boolean enabled = false;
+        private String directory = "data";
+        private boolean syncWrites = true;
+        private long flushIntervalMillis = 5;
+        private int snapshotEvery = 100_000;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getDirectory() { return directory; }
+        public void setDirectory(String directory) { this.directory = directory; }
+
+        public boolean isSyncWrites() { return syncWrites; }
+        public void setSyncWrites(boolean syncWrites) { this.syncWrites = syncWrites; }
+
+        public long getFlushIntervalMillis() { return flushIntervalMillis; }
+        public void setFlushIntervalMillis(long flushIntervalMillis) { this.flushIntervalMillis = flushIntervalMillis; }
+
+        public int getSnapshotEvery() { return snapshotEvery; }
+        public void setSnapshotEvery(int snapshotEvery) { this.snapshotEvery = snapshotEvery; }
+    }
+
+    public static class Seed {
+        // 0 = solo los cuatro eventos de ejemplo
+        private int events = 0;
+        private long randomSeed = 42;
+        private int creators = 10;
+        private String creatorPrefix = "user";
+        private Map<EventStatus, Integer> statusWeights = defaultWeights();
+        private Instant startFrom = Instant.parse("2026-01-01T00:00:00Z");
+        private int spreadDays = 365;
+        private int maxDurationHours = 8;
+        private int descriptionMinLength = 0;
+        private int descriptionMeanLength = 200;
+        private int descriptionMaxLength = 2000;
+        private int threads = 0;
+
+        private static Map<EventStatus, Integer> defaultWeights() {
+            Map<EventStatus, Integer> weights = new EnumMap<>(EventStatus.class);
+            weights.put(EventStatus.DRAFT, 20);
+            weights.put(EventStatus.PENDING_APPROVAL, 20);
+            weights.put(EventStatus.APPROVED, 50);
+            weights.put(EventStatus.REJECTED, 10);
+            return weights;
+        }
+
+        public int getEvents() { return events; }
+        public void setEvents(int events) { this.events = events; }
+
+        public long getRandomSeed() { return randomSeed; }
+        public void setRandomSeed(long randomSeed) { this.randomSeed = randomSeed; }
+
+        public int getCreators() { return creators; }
+        public void setCreators(int creators) { this.creators = creators; }
+
+        public String getCreatorPrefix() { return creatorPrefix; }
+        public void setCreatorPrefix(String creatorPrefix) { this.creatorPrefix = creatorPrefix; }
+
+        public Map<EventStatus, Integer> getStatusWeights() { return statusWeights; }
+        public void setStatusWeights(Map<EventStatus, Integer> statusWeights) { this.statusWeights = statusWeights; }
+
+        public Instant getStartFrom() { return startFrom; }
+        public void setStartFrom(Instant startFrom) { this.startFrom = startFrom; }
+
+        public int getSpreadDays() { return spreadDays; }
+        public void setSpreadDays(int spreadDays) { this.spreadDays = spreadDays; }
+
+        public int getMaxDurationHours() { return maxDurationHours; }
+        public void setMaxDurationHours(int maxDurationHours) { this.maxDurationHours = maxDurationHours; }
+
+        public int getDescriptionMinLength() { return descriptionMinLength; }
+        public void setDescriptionMinLength(int descriptionMinLength) { this.descriptionMinLength = descriptionMinLength; }
+
+        public int getDescriptionMeanLength() { return descriptionMeanLength; }
+        public void setDescriptionMeanLength(int descriptionMeanLength) { this.descriptionMeanLength = descriptionMeanLength; }
+
+        public int getDescriptionMaxLength() { return descriptionMaxLength; }
+        public void setDescriptionMaxLength(int descriptionMaxLength) { this.descriptionMaxLength = descriptionMaxLength; }
+
+        public int getThreads() { return threads; }
+        public void setThreads(int threads) { this.threads = threads; }
+    }
+
+    public static class Jdbc {
+        private int batchSize = 1000;
+        // Antigüedad máxima del recuento por estado que publica el gauge events.store.size
+        private long sizeRefreshSeconds = 15;
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+        public long getSizeRefreshSeconds() { return sizeRefreshSeconds; }
+        public void setSizeRefreshSeconds(long sizeRefreshSeconds) { this.sizeRefreshSeconds = sizeRefreshSeconds; }
+    }
+
+    public static class Cache {
+        private boolean enabled = false;
+        // Eventos por id, contando también los ids que no existen
+        private int maxEvents = 10_000;
+        // Eventos en total entre todas las páginas del listado de aprobados
+        private int maxApprovedEvents = 20_000;
+        // Tope de lo que puede tardar en verse un cambio hecho por fuera de la aplicación
+        private long ttlSeconds = 300;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public int getMaxEvents() { return maxEvents; }
+        public void setMaxEvents(int maxEvents) { this.maxEvents = maxEvents; }
+
+        public int getMaxApprovedEvents() { return maxApprovedEvents; }
+        public void setMaxApprovedEvents(int maxApprovedEvents) { this.maxApprovedEvents = maxApprovedEvents; }
+
+        public long getTtlSeconds() { return ttlSeconds; }
+        public void setTtlSeconds(long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+    }
+}
@@ -0,0 +1,9 @@
+package com.docencia.aed.infrastructure.reactive;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ReactiveProperties.class)
+public class ReactiveConfig {
+}
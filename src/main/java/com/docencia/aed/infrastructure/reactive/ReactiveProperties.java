@@ -0,0 +1,26 @@
+package com.docencia.aed.infrastructure.reactive;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "app.reactive")
+public class ReactiveProperties {
+
+    private boolean enabled = false;
+    private int port = 8081;
+    // 0 = uno por procesador
+    private int eventLoopThreads = 0;
+    // true si las lecturas del repositorio bloquean (p. ej. JDBC) y no pueden ir en el event loop
+    private boolean offloadReads = false;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getPort() { return port; }
+    public void setPort(int port) { this.port = port; }
+
+    public int getEventLoopThreads() { return eventLoopThreads; }
+    public void setEventLoopThreads(int eventLoopThreads) { this.eventLoopThreads = eventLoopThreads; }
+
+    public boolean isOffloadReads() { return offloadReads; }
+    public void setOffloadReads(boolean offloadReads) { this.offloadReads = offloadReads; }
+}
@@ -0,0 +1,77 @@
+package com.docencia.aed.infrastructure.reactive;
+
+import com.docencia.aed.controller.reactive.PublicEventRoutes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Servidor Netty aparte (app.reactive.port) para la variante reactiva de la API
+ * pública v1. Convive con Tomcat y los controladores MVC, que siguen igual: se
+ * activa con app.reactive.enabled y atiende todas las conexiones con unos pocos hilos
+ * de event loop.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactivePublicServer implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReactivePublicServer.class);
+
+    private final PublicEventRoutes routes;
+    private final ObjectMapper mapper;
+    private final ReactiveProperties props;
+    private LoopResources loops;
+    private DisposableServer server;
+
+    public ReactivePublicServer(PublicEventRoutes routes, ObjectMapper mapper, ReactiveProperties props) {
+        this.routes = routes;
+        this.mapper = mapper;
+        this.props = props;
+    }
+
+    @Override
+    public void start() {
+        // El mismo ObjectMapper que MVC, para que el JSON sea idéntico en los dos servidores
+        HandlerStrategies strategies = HandlerStrategies.builder().codecs(codecs -> {
+            codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(mapper));
+            codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(mapper));
+        }).build();
+        int threads = props.getEventLoopThreads() > 0 ? props.getEventLoopThreads()
+                : Runtime.getRuntime().availableProcessors();
+        loops = LoopResources.create("public-v1", threads, true);
+        server = HttpServer.create()
+                .port(props.getPort())
+                .runOn(loops)
+                .handle(new ReactorHttpHandlerAdapter(RouterFunctions.toHttpHandler(routes.routes(), strategies)))
+                .bindNow();
+        log.info("Reactive public API started on port {} with {} event loop threads", server.port(), threads);
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow();
+            server = null;
+        }
+        if (loops != null) {
+            loops.disposeLater().block();
+            loops = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
@@ -12,6 +12,9 @@ public class AppSecurityProperties {
     private Routes routes = new Routes();
     private List<User> users = new ArrayList<>();
     private Permissions permissions = new Permissions();
+    private UserStatus userStatus = new UserStatus();
+    private Login login = new Login();
+    private RateLimit rateLimit = new RateLimit();
 
     public Jwt getJwt() { return jwt; }
     public void setJwt(Jwt jwt) { this.jwt = jwt; }
@@ -25,15 +28,111 @@ public class AppSecurityProperties {
     public Permissions getPermissions() { return permissions; }
     public void setPermissions(Permissions permissions) { this.permissions = permissions; }
 
+    public UserStatus getUserStatus() { return userStatus; }
+    public void setUserStatus(UserStatus userStatus) { this.userStatus = userStatus; }
+
+    public Login getLogin() { return login; }
+    public void setLogin(Login login) { this.login = login; }
+
+    public RateLimit getRateLimit() { return rateLimit; }
+    public void setRateLimit(RateLimit rateLimit) { this.rateLimit = rateLimit; }
+
     public static class Jwt {
         private String secret;
         private int expirationMinutes = 120;
+        private int cacheSize = 10_000;
 
         public String getSecret() { return secret; }
         public void setSecret(String secret) { this.secret = secret; }
 
         public int getExpirationMinutes() { return expirationMinutes; }
         public void setExpirationMinutes(int expirationMinutes) { this.expirationMinutes = expirationMinutes; }
+
+        public int getCacheSize() { return cacheSize; }
+        public void setCacheSize(int cacheSize) { this.cacheSize = cacheSize; }
+    }
+
+    public static class UserStatus {
+        private boolean enabled = false;
+        private long ttlSeconds = 30;
+        private int maxEntries = 10_000;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public long getTtlSeconds() { return ttlSeconds; }
+        public void setTtlSeconds(long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+
+        public int getMaxEntries() { return maxEntries; }
+        public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+    }
+
+    public static class Login {
+        // 0 = la mitad de los procesadores (mínimo 1)
+        private int threads = 0;
+        private int queueCapacity = 64;
+        private int usernameBurst = 5;
+        private int usernamePerMinute = 10;
+        private int ipBurst = 20;
+        private int ipPerMinute = 60;
+        private int maxTrackedKeys = 100_000;
+
+        public int getThreads() { return threads; }
+        public void setThreads(int threads) { this.threads = threads; }
+
+        public int getQueueCapacity() { return queueCapacity; }
+        public void setQueueCapacity(int queueCapacity) { this.queueCapacity = queueCapacity; }
+
+        public int getUsernameBurst() { return usernameBurst; }
+        public void setUsernameBurst(int usernameBurst) { this.usernameBurst = usernameBurst; }
+
+        public int getUsernamePerMinute() { return usernamePerMinute; }
+        public void setUsernamePerMinute(int usernamePerMinute) { this.usernamePerMinute = usernamePerMinute; }
+
+        public int getIpBurst() { return ipBurst; }
+        public void setIpBurst(int ipBurst) { this.ipBurst = ipBurst; }
+
+        public int getIpPerMinute() { return ipPerMinute; }
+        public void setIpPerMinute(int ipPerMinute) { this.ipPerMinute = ipPerMinute; }
+
+        public int getMaxTrackedKeys() { return maxTrackedKeys; }
+        public void setMaxTrackedKeys(int maxTrackedKeys) { this.maxTrackedKeys = maxTrackedKeys; }
+    }
+
+    public static class RateLimit {
+        private boolean enabled = true;
+        private int maxTrackedKeys = 100_000;
+        private RoleLimit collaborator = new RoleLimit(20, 120);
+        private RoleLimit admin = new RoleLimit(50, 600);
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public int getMaxTrackedKeys() { return maxTrackedKeys; }
+        public void setMaxTrackedKeys(int maxTrackedKeys) { this.maxTrackedKeys = maxTrackedKeys; }
+
+        public RoleLimit getCollaborator() { return collaborator; }
+        public void setCollaborator(RoleLimit collaborator) { this.collaborator = collaborator; }
+
+        public RoleLimit getAdmin() { return admin; }
+        public void setAdmin(RoleLimit admin) { this.admin = admin; }
+    }
+
+    public static class RoleLimit {
+        private int burst;
+        private int perMinute;
+
+        public RoleLimit() {}
+        public RoleLimit(int burst, int perMinute) {
+            this.burst = burst;
+            this.perMinute = perMinute;
+        }
+
+        public int getBurst() { return burst; }
+        public void setBurst(int burst) { this.burst = burst; }
+
+        public int getPerMinute() { return perMinute; }
+        public void setPerMinute(int perMinute) { this.perMinute = perMinute; }
     }
 
     public static class Routes {
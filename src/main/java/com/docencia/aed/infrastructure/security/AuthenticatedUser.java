@@ -0,0 +1,49 @@
+package com.docencia.aed.infrastructure.security;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Usuario autenticado por JWT, construido solo con los claims del token. Se crea una
+ * vez por token (JwtService lo guarda en su caché) y no se modifica después, así que
+ * varias peticiones pueden compartir la misma instancia.
+ */
+public final class AuthenticatedUser extends AbstractAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String username;
+    private final int roles;
+
+    public AuthenticatedUser(String username, List<String> authorities) {
+        super(authorities.stream().map(SimpleGrantedAuthority::new).toList());
+        this.username = username;
+        this.roles = Role.maskOf(authorities);
+        setAuthenticated(true);
+    }
+
+    public boolean hasRole(Role role) {
+        return (roles & role.mask()) != 0;
+    }
+
+    public boolean isAdmin() {
+        return hasRole(Role.ADMIN);
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return username;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+}
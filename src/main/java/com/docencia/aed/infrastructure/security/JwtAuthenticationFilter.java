@@ -1,31 +1,25 @@
 package com.docencia.aed.infrastructure.security;
 
-import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpHeaders;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final UserStatusCache userStatus;
 
-    public JwtAuthenticationFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthenticationFilter(JwtService jwtService, UserStatusCache userStatus) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.userStatus = userStatus;
     }
 
     @Override
@@ -40,19 +34,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = header.substring("Bearer ".length()).trim();
         try {
-            Claims claims = jwtService.parseClaims(token);
-            String username = claims.getSubject();
-            @SuppressWarnings("unchecked")
-            List<String> roles = (List<String>) claims.get("roles", List.class);
-
-            UserDetails user = userDetailsService.loadUserByUsername(username);
-
-            var authorities = roles.stream()
-                    .map(SimpleGrantedAuthority::new)
-                    .toList();
-
-            var auth = new UsernamePasswordAuthenticationToken(user.getUsername(), null, authorities);
-            SecurityContextHolder.getContext().setAuthentication(auth);
+            // El usuario sale tal cual de los claims (y de la caché de JwtService si el token
+            // ya se vio): no se consulta el UserDetailsService salvo para la revocación opcional
+            AuthenticatedUser user = jwtService.verify(token).user();
+            if (userStatus.isActive(user.getName())) {
+                SecurityContextHolder.getContext().setAuthentication(user);
+            }
         } catch (Exception ignored) {
             // Si el token es inválido/expirado, dejamos que Security resuelva (401).
         }
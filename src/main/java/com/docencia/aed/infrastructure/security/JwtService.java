@@ -1,27 +1,60 @@
 package com.docencia.aed.infrastructure.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.SecretKey;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
-import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 public class JwtService {
 
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(JwtService::sha256);
+
     private final AppSecurityProperties props;
-    private final Key key;
+    private final SecretKey key;
+    // El parser es inmutable y thread-safe: se construye una vez, no en cada petición
+    private final JwtParser parser;
+
+    // Tokens ya verificados, con su usuario ya construido, por el SHA-256 del token (no
+    // se guarda el token en claro). Cada entrada deja de valer en el exp del token.
+    private final ConcurrentHashMap<Digest, VerifiedToken> verified = new ConcurrentHashMap<>();
+    private final int cacheSize;
+    private final AtomicBoolean evicting = new AtomicBoolean();
 
-    public JwtService(AppSecurityProperties props) {
+    // Un acierto en la caché cuesta poco más que la búsqueda: se cuenta pero no se cronometra
+    private final Timer parseTimer;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    private final Counter invalid;
+
+    public JwtService(AppSecurityProperties props, MeterRegistry registry) {
         this.props = props;
         this.key = Keys.hmacShaKeyFor(props.getJwt().getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.cacheSize = props.getJwt().getCacheSize();
+        this.parseTimer = Timer.builder("security.jwt.parse").register(registry);
+        this.cacheHits = Counter.builder("security.jwt.verify").tag("result", "cached").register(registry);
+        this.cacheMisses = Counter.builder("security.jwt.verify").tag("result", "parsed").register(registry);
+        this.invalid = Counter.builder("security.jwt.verify").tag("result", "invalid").register(registry);
     }
 
     public String generateToken(Authentication auth) {
@@ -41,10 +74,93 @@ public class JwtService {
     }
 
     public Claims parseClaims(String token) {
-        return Jwts.parser()
-                .verifyWith((javax.crypto.SecretKey) key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        long start = System.nanoTime();
+        try {
+            return parser.parseSignedClaims(token).getPayload();
+        } finally {
+            parseTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Igual que parseClaims pero recordando el resultado: un token que ya se verificó
+     * se resuelve con una búsqueda en el mapa hasta que expira. Lanza las mismas
+     * excepciones de JJWT si el token no es válido.
+     */
+    public VerifiedToken verify(String token) {
+        Digest digest = Digest.of(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verified.get(digest);
+        if (cached != null) {
+            if (now < cached.expiresAtMillis()) {
+                cacheHits.increment();
+                return cached;
+            }
+            verified.remove(digest, cached);
+        }
+
+        Claims claims;
+        try {
+            claims = parseClaims(token);
+        } catch (RuntimeException ex) {
+            invalid.increment();
+            throw ex;
+        }
+        cacheMisses.increment();
+        Date exp = claims.getExpiration();
+        if (exp == null) {
+            // Sin exp no hay cuándo olvidarlo: se verifica siempre
+            return toVerified(claims, Long.MAX_VALUE);
+        }
+        VerifiedToken fresh = toVerified(claims, exp.getTime());
+        if (verified.size() >= cacheSize) {
+            evict(now);
+        }
+        verified.put(digest, fresh);
+        return fresh;
+    }
+
+    private static VerifiedToken toVerified(Claims claims, long expiresAtMillis) {
+        @SuppressWarnings("unchecked")
+        List<String> roles = (List<String>) claims.get("roles", List.class);
+        return new VerifiedToken(new AuthenticatedUser(claims.getSubject(), roles != null ? roles : List.of()),
+                expiresAtMillis);
+    }
+
+    /**
+     * Quita los caducados y, si aun así sigue lleno, entradas cualquiera hasta
+     * dejar sitio a un 10%. Solo barre un hilo a la vez; el resto no espera.
+     */
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            verified.values().removeIf(t -> now >= t.expiresAtMillis());
+            int target = cacheSize - cacheSize / 10;
+            for (Iterator<Digest> it = verified.keySet().iterator(); it.hasNext() && verified.size() > target;) {
+                it.next();
+                it.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 128 de los 256 bits del SHA-256: de sobra para que dos tokens no coincidan
+    private record Digest(long high, long low) {
+        static Digest of(String token) {
+            byte[] hash = SHA256.get().digest(token.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new Digest(buffer.getLong(), buffer.getLong());
+        }
     }
 }
@@ -0,0 +1,62 @@
+package com.docencia.aed.infrastructure.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Un TokenBucket por clave (usuario, IP...). Como mucho se siguen maxKeys claves:
+ * al llegar al límite se olvidan las que tienen el cubo lleno, que es lo mismo que
+ * no haberlas visto nunca. Las que lo tienen a medias no se olvidan nunca (sería
+ * devolverles los tokens gastados, p. ej. los intentos de login fallidos): si no cabe
+ * ninguna clave nueva, todas las nuevas comparten un mismo cubo hasta que haya sitio.
+ */
+public final class KeyedRateLimiter {
+
+    private final int burst;
+    private final long intervalNanos;
+    private final int maxKeys;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * @param burst     peticiones seguidas permitidas
+     * @param perMinute peticiones por minuto sostenidas
+     */
+    public KeyedRateLimiter(int burst, int perMinute, int maxKeys) {
+        this.burst = burst;
+        this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(perMinute, 1);
+        this.maxKeys = maxKeys;
+        this.overflow = new TokenBucket(burst, intervalNanos, System.nanoTime());
+    }
+
+    public TokenBucket bucket(String key, long now) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            evict(now);
+            if (buckets.size() >= maxKeys) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(burst, intervalNanos, now));
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    private void evict(long now) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            buckets.values().removeIf(b -> b.nanosUntilFull(now) == 0);
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
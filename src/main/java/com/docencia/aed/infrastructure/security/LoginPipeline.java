@@ -0,0 +1,94 @@
+package com.docencia.aed.infrastructure.security;
+
+import com.docencia.aed.exception.TooManyRequestsException;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Login fuera de los hilos de Tomcat. Comprobar una contraseña con un hash adaptativo
+ * cuesta CPU a propósito, así que se hace en un pool pequeño con una cola acotada: si
+ * está llena se responde 429 al momento en lugar de acumular peticiones. Antes de
+ * encolar se aplica un límite por IP y otro por usuario, para que una avalancha de
+ * intentos (p. ej. credential stuffing) no llegue siquiera al pool.
+ *
+ * El de usuario solo cuenta los intentos fallidos: quien entra con su contraseña no
+ * gasta nada, y nadie puede dejar sin acceso a un usuario solo con saber su nombre
+ * mientras no falle más de lo que permite el límite.
+ */
+@Component
+public class LoginPipeline implements DisposableBean {
+
+    private final AuthenticationManager authenticationManager;
+    private final ThreadPoolExecutor hashing;
+    private final KeyedRateLimiter byUsername;
+    private final KeyedRateLimiter byIp;
+
+    public LoginPipeline(AuthenticationManager authenticationManager, AppSecurityProperties props) {
+        this.authenticationManager = authenticationManager;
+        AppSecurityProperties.Login login = props.getLogin();
+        int threads = login.getThreads() > 0 ? login.getThreads()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger count = new AtomicInteger();
+        this.hashing = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(login.getQueueCapacity()), r -> {
+                    Thread t = new Thread(r, "login-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+        this.byUsername = new KeyedRateLimiter(login.getUsernameBurst(), login.getUsernamePerMinute(),
+                login.getMaxTrackedKeys());
+        this.byIp = new KeyedRateLimiter(login.getIpBurst(), login.getIpPerMinute(), login.getMaxTrackedKeys());
+    }
+
+    /**
+     * Autentica en el pool de login. Lanza TooManyRequestsException sin esperar si se
+     * supera algún límite o la cola está llena.
+     */
+    public CompletableFuture<Authentication> authenticate(String username, String password, String clientIp) {
+        long now = System.nanoTime();
+        TokenBucket ip = byIp.bucket(clientIp, now);
+        if (!ip.tryAcquire(now)) {
+            throw tooMany(ip, now, "Too many login attempts from this address");
+        }
+        // Aquí solo se mira si quedan fallos; se gasta uno cuando la contraseña no vale
+        TokenBucket failures = byUsername.bucket(username.toLowerCase(Locale.ROOT), now);
+        if (failures.available(now) < 1) {
+            throw tooMany(failures, now, "Too many failed login attempts for this user");
+        }
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return authenticationManager.authenticate(
+                            new UsernamePasswordAuthenticationToken(username, password));
+                } catch (AuthenticationException e) {
+                    failures.tryAcquire(System.nanoTime());
+                    throw e;
+                }
+            }, hashing);
+        } catch (RejectedExecutionException e) {
+            throw new TooManyRequestsException("The server is busy processing logins, try again later", 1);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        hashing.shutdownNow();
+    }
+
+    private static TooManyRequestsException tooMany(TokenBucket bucket, long now, String message) {
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(bucket.nanosUntilNext(now)) + 1;
+        return new TooManyRequestsException(message, seconds);
+    }
+}
@@ -0,0 +1,36 @@
+package com.docencia.aed.infrastructure.security;
+
+/**
+ * Roles conocidos por la aplicación. Cada uno ocupa un bit para poder guardar
+ * los de un usuario en un int y comprobarlos sin recorrer sus authorities.
+ */
+public enum Role {
+    ADMIN,
+    COLLABORATOR;
+
+    private static final String PREFIX = "ROLE_";
+
+    public int mask() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * Bits de las authorities indicadas ("ROLE_ADMIN"...). Las que no son un rol
+     * conocido se ignoran.
+     */
+    public static int maskOf(Iterable<String> authorities) {
+        int mask = 0;
+        for (String authority : authorities) {
+            if (authority == null || !authority.startsWith(PREFIX)) {
+                continue;
+            }
+            for (Role role : values()) {
+                if (authority.length() == PREFIX.length() + role.name().length()
+                        && authority.endsWith(role.name())) {
+                    mask |= role.mask();
+                }
+            }
+        }
+        return mask;
+    }
+}
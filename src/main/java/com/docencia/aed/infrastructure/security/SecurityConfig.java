@@ -1,5 +1,6 @@
 package com.docencia.aed.infrastructure.security;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -16,6 +17,7 @@ import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
@@ -51,13 +53,16 @@ public class SecurityConfig {
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http,
             AppSecurityProperties props,
-            JwtAuthenticationFilter jwtFilter) throws Exception {
+            JwtAuthenticationFilter jwtFilter,
+            WriteRateLimitFilter rateLimitFilter) throws Exception {
 
         http.csrf(csrf -> csrf.disable());
         http.sessionManagement(sm -> sm.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
 
         // Rutas públicas/protegidas vienen de configuración externalizada
         http.authorizeHttpRequests(auth -> {
+            // Los redespachos de una petición asíncrona (feed SSE) ya se autorizaron al entrar
+            auth.dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll();
             for (String p : props.getRoutes().getPublic()) {
                 auth.requestMatchers(p).permitAll();
             }
@@ -71,6 +76,8 @@ public class SecurityConfig {
 
         // Añadimos el filtro JWT
         http.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+        // Límite de escrituras: después de autorizar, cuando ya se sabe quién es el usuario
+        http.addFilterAfter(rateLimitFilter, AuthorizationFilter.class);
 
         // Basic deshabilitado (opcional)
         http.httpBasic(Customizer.withDefaults());
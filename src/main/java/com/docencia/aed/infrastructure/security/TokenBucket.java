@@ -0,0 +1,75 @@
+package com.docencia.aed.infrastructure.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cubo de tokens sin bloqueos ni reservas de memoria por petición: en lugar de
+ * contar tokens se guarda el instante (en nanos) en el que el cubo volvería a estar
+ * lleno y se avanza con CAS. Admite hasta {@code burst} peticiones seguidas y
+ * recupera un token cada {@code intervalNanos}.
+ */
+public final class TokenBucket {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    // Instante en el que el cubo estará lleno; si ya ha pasado, está lleno
+    private final AtomicLong fullAt;
+
+    public TokenBucket(int burst, long intervalNanos, long now) {
+        this.intervalNanos = intervalNanos;
+        this.burstNanos = burst * intervalNanos;
+        this.fullAt = new AtomicLong(now);
+    }
+
+    public boolean tryAcquire(long now) {
+        return tryAcquire(now, 1);
+    }
+
+    /**
+     * Consume {@code tokens} de una vez, o ninguno si no hay tantos disponibles.
+     */
+    public boolean tryAcquire(long now, int tokens) {
+        long cost = tokens * intervalNanos;
+        while (true) {
+            long current = fullAt.get();
+            long base = Math.max(current, now);
+            long next = base + cost;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Tokens disponibles ahora mismo.
+     */
+    public long available(long now) {
+        return (burstNanos - Math.max(fullAt.get() - now, 0)) / intervalNanos;
+    }
+
+    /**
+     * Nanos hasta que haya al menos un token (0 si ya lo hay).
+     */
+    public long nanosUntilNext(long now) {
+        return nanosUntil(now, 1);
+    }
+
+    /**
+     * Nanos hasta que haya al menos {@code tokens} (0 si ya los hay). Con más tokens que
+     * burst no llegan a juntarse nunca: lo que devuelve es lo que falta para el cubo lleno.
+     */
+    public long nanosUntil(long now, int tokens) {
+        long cost = Math.min(tokens * intervalNanos, burstNanos);
+        return Math.max(fullAt.get() + cost - burstNanos - now, 0);
+    }
+
+    /**
+     * Nanos hasta que el cubo vuelva a estar lleno.
+     */
+    public long nanosUntilFull(long now) {
+        return Math.max(fullAt.get() - now, 0);
+    }
+}
@@ -0,0 +1,64 @@
+package com.docencia.aed.infrastructure.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocación opcional (app.security.user-status.enabled): si está activa, un token
+ * válido solo autentica si su usuario sigue existiendo y habilitado. El resultado se
+ * recuerda ttl-seconds por usuario para no ir al almacén de usuarios en cada petición.
+ * Con max-entries usuarios recordados se quitan los caducados y, si no queda sitio, el
+ * nuevo no se recuerda: los que ya estaban siguen sin consultar el almacén.
+ */
+@Component
+public class UserStatusCache {
+
+    private final UserDetailsService users;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final ConcurrentHashMap<String, Status> statuses = new ConcurrentHashMap<>();
+
+    public UserStatusCache(UserDetailsService users, AppSecurityProperties props) {
+        this.users = users;
+        this.enabled = props.getUserStatus().isEnabled();
+        this.ttlMillis = props.getUserStatus().getTtlSeconds() * 1000;
+        this.maxEntries = props.getUserStatus().getMaxEntries();
+    }
+
+    public boolean isActive(String username) {
+        if (!enabled) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        Status cached = statuses.get(username);
+        if (cached != null && now < cached.validUntil()) {
+            return cached.active();
+        }
+        boolean active = load(username);
+        if (cached == null && statuses.size() >= maxEntries) {
+            statuses.values().removeIf(s -> now >= s.validUntil());
+            if (statuses.size() >= maxEntries) {
+                return active;
+            }
+        }
+        statuses.put(username, new Status(active, now + ttlMillis));
+        return active;
+    }
+
+    private boolean load(String username) {
+        try {
+            UserDetails user = users.loadUserByUsername(username);
+            return user.isEnabled() && user.isAccountNonLocked() && user.isAccountNonExpired();
+        } catch (UsernameNotFoundException e) {
+            return false;
+        }
+    }
+
+    private record Status(boolean active, long validUntil) {
+    }
+}
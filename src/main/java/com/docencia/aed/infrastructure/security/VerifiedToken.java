@@ -0,0 +1,7 @@
+package com.docencia.aed.infrastructure.security;
+
+/**
+ * Un token ya verificado: el usuario que representa y hasta cuándo vale.
+ */
+public record VerifiedToken(AuthenticatedUser user, long expiresAtMillis) {
+}
@@ -0,0 +1,56 @@
+package com.docencia.aed.infrastructure.security;
+
+import com.docencia.aed.exception.ErrorBody;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Cobra una escritura (WriteRateLimiter) a cada POST/PUT/PATCH/DELETE de la API v2 y
+ * responde 429 con Retry-After al pasarse. Los lotes (/api/v2/events:batch...) no pasan
+ * por aquí: cuestan una escritura por elemento y los cobra su controlador.
+ */
+@Component
+public class WriteRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BATCH = "/api/v2/events:batch";
+
+    private final WriteRateLimiter limiter;
+
+    public WriteRateLimitFilter(WriteRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!limiter.isEnabled()) {
+            return true;
+        }
+        String method = request.getMethod();
+        boolean write = "POST".equals(method) || "PATCH".equals(method) || "PUT".equals(method)
+                || "DELETE".equals(method);
+        String uri = request.getRequestURI();
+        return !write || !uri.startsWith("/api/v2/") || uri.startsWith(BATCH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (limiter.tryAcquire(1, response)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        HttpStatus status = HttpStatus.TOO_MANY_REQUESTS;
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(ErrorBody.of(status, "Too many write requests, try again later",
+                request.getRequestURI()));
+    }
+}
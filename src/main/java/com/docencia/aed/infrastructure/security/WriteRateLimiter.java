@@ -0,0 +1,114 @@
+package com.docencia.aed.infrastructure.security;
+
+import com.docencia.aed.exception.TooManyRequestsException;
+import com.docencia.aed.util.SecurityUtils;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Límite de escrituras en la API v2 por usuario autenticado, con un cubo de tokens por
+ * usuario y límites distintos según el rol (app.security.rate-limit.*). Cada escritura
+ * cuesta un token: una petición normal, uno (lo cobra WriteRateLimitFilter); un lote,
+ * uno por elemento (lo cobra EventBatchControllerV2 cuando ya sabe cuántos trae).
+ *
+ * En el camino normal no reserva memoria: el cubo del usuario ya existe, se consume
+ * con un CAS y los números de las cabeceras salen de una tabla de cadenas.
+ */
+@Component
+public class WriteRateLimiter {
+
+    private static final String LIMIT = "RateLimit-Limit";
+    private static final String REMAINING = "RateLimit-Remaining";
+    private static final String RESET = "RateLimit-Reset";
+    private static final String[] NUMBERS = new String[1024];
+
+    static {
+        for (int i = 0; i < NUMBERS.length; i++) {
+            NUMBERS[i] = Integer.toString(i);
+        }
+    }
+
+    private final boolean enabled;
+    private final KeyedRateLimiter collaborators;
+    private final KeyedRateLimiter admins;
+
+    public WriteRateLimiter(AppSecurityProperties props) {
+        AppSecurityProperties.RateLimit limits = props.getRateLimit();
+        this.enabled = limits.isEnabled();
+        this.collaborators = new KeyedRateLimiter(limits.getCollaborator().getBurst(),
+                limits.getCollaborator().getPerMinute(), limits.getMaxTrackedKeys());
+        this.admins = new KeyedRateLimiter(limits.getAdmin().getBurst(), limits.getAdmin().getPerMinute(),
+                limits.getMaxTrackedKeys());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Cobra {@code writes} tokens al usuario actual, todos o ninguno, y pone las cabeceras
+     * RateLimit-Limit/Remaining/Reset y, si no había bastantes, Retry-After. Sin usuario o
+     * con el límite desactivado no cobra nada.
+     */
+    public boolean tryAcquire(int writes, HttpServletResponse response) {
+        String username = SecurityUtils.username();
+        if (!enabled || username == null) {
+            return true;
+        }
+        KeyedRateLimiter limiter = SecurityUtils.isAdmin() ? admins : collaborators;
+        long now = System.nanoTime();
+        TokenBucket bucket = limiter.bucket(username, now);
+        if (charge(limiter, bucket, now, writes, response)) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.RETRY_AFTER, number(retryAfter(bucket, now, writes)));
+        return false;
+    }
+
+    /**
+     * Como tryAcquire, pero sin tokens suficientes lanza TooManyRequestsException (429,
+     * que pone Retry-After). Un lote con más escrituras que burst no cabe nunca: el
+     * mensaje lo dice.
+     */
+    public void acquire(int writes, HttpServletResponse response) {
+        String username = SecurityUtils.username();
+        if (!enabled || username == null) {
+            return;
+        }
+        KeyedRateLimiter limiter = SecurityUtils.isAdmin() ? admins : collaborators;
+        long now = System.nanoTime();
+        TokenBucket bucket = limiter.bucket(username, now);
+        if (charge(limiter, bucket, now, writes, response)) {
+            return;
+        }
+        String message = writes > limiter.getBurst()
+                ? "Batch of " + writes + " writes exceeds the limit of " + limiter.getBurst() + ", split it"
+                : "Too many write requests, try again later";
+        throw new TooManyRequestsException(message, retryAfter(bucket, now, writes));
+    }
+
+    private static boolean charge(KeyedRateLimiter limiter, TokenBucket bucket, long now, int writes,
+                                  HttpServletResponse response) {
+        boolean allowed = bucket.tryAcquire(now, writes);
+        response.setHeader(LIMIT, number(limiter.getBurst()));
+        response.setHeader(REMAINING, number(bucket.available(now)));
+        response.setHeader(RESET, number(seconds(bucket.nanosUntilFull(now))));
+        return allowed;
+    }
+
+    private static long retryAfter(TokenBucket bucket, long now, int writes) {
+        return seconds(bucket.nanosUntil(now, writes));
+    }
+
+    // Segundos redondeando hacia arriba: mejor reintentar un poco tarde que demasiado pronto
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    private static String number(long value) {
+        return value >= 0 && value < NUMBERS.length ? NUMBERS[(int) value] : Long.toString(value);
+    }
+}
@@ -0,0 +1,66 @@
+package com.docencia.aed.infrastructure.threads;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hilos para el trabajo en segundo plano que espera más que calcula (envío del feed
+ * de cambios, escritura del log). Con spring.threads.virtual.enabled=true son hilos
+ * virtuales, igual que los de Tomcat; si no, hilos de plataforma como hasta ahora.
+ *
+ * Lo que consume CPU (comprobar contraseñas, snapshots) sigue en pools acotados de
+ * plataforma: con hilos virtuales no habría nada que limitase cuántos corren a la vez.
+ */
+@Component
+public class BackgroundThreads {
+
+    private final boolean virtual;
+
+    public BackgroundThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    /**
+     * Hilo de larga duración, sin arrancar.
+     */
+    public Thread newThread(String name, Runnable task) {
+        if (virtual) {
+            return Thread.ofVirtual().name(name).unstarted(task);
+        }
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Con hilos virtuales, uno por tarea; si no, un pool fijo de {@code platformThreads}.
+     * Cerrar con {@link #shutdown(Executor)}.
+     */
+    public Executor executor(String name, int platformThreads) {
+        if (virtual) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+        }
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformThreads, r -> {
+            Thread t = new Thread(r, name + "-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static void shutdown(Executor executor) {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+}
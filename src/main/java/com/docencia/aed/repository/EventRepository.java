@@ -3,8 +3,10 @@ package com.docencia.aed.repository;
 import com.docencia.aed.entity.Event;
 import com.docencia.aed.entity.EventStatus;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 
 public interface EventRepository {
     Event save(Event event);
@@ -12,7 +14,39 @@ public interface EventRepository {
     List<Event> findAll();
     void deleteById(Long id);
 
+    // Escrituras condicionadas: solo se aplican si la versión guardada sigue siendo expectedVersion
+    // (save asigna siempre la versión siguiente). Devuelven false si otro escritor se adelantó;
+    // deleteByIdIfVersion también si el id ya no existe.
+    boolean saveIfVersion(Event event, long expectedVersion);
+    boolean deleteByIdIfVersion(Long id, long expectedVersion);
+
+    // Escrituras por lotes: el mismo efecto que llamar a save/saveIfVersion por cada evento,
+    // pero pagando una sola vez lo que sea común (en memoria, la espera al log)
+    List<Event> saveAll(List<Event> events);
+    boolean[] saveAllIfVersion(List<Event> events, long[] expectedVersions);
+
+    // Lectura-modificación-escritura atómica para un id: change recibe el evento guardado y
+    // devuelve el nuevo (una copia), sin que otra escritura del mismo id pueda colarse entre
+    // medias. Asigna la versión siguiente. Si change lanza una excepción no se escribe nada.
+    // Vacío si el id no existe. change debe ser rápido: puede bloquear otras escrituras.
+    Optional<Event> update(Long id, UnaryOperator<Event> change);
+
     List<Event> findByStatus(EventStatus status);
     List<Event> findByCreatedBy(String username);
     List<Event> findByCreatedByAndStatus(String username, EventStatus status);
+
+    // Paginación por cursor: como mucho `limit` eventos con id > afterId (null = desde el principio), en orden de id
+    List<Event> findAllAfter(Long afterId, int limit);
+    List<Event> findByStatusAfter(EventStatus status, Long afterId, int limit);
+    List<Event> findByCreatedByAfter(String username, Long afterId, int limit);
+    List<Event> findByCreatedByAndStatusAfter(String username, EventStatus status, Long afterId, int limit);
+
+    // Ventana temporal: como mucho `limit` eventos que se solapan con [from, to) (null = sin límite), en orden de startAt
+    List<Event> findAllBetween(Instant from, Instant to, int limit);
+    List<Event> findByStatusBetween(EventStatus status, Instant from, Instant to, int limit);
+    List<Event> findByCreatedByBetween(String username, Instant from, Instant to, int limit);
+    List<Event> findByCreatedByAndStatusBetween(String username, EventStatus status, Instant from, Instant to, int limit);
+
+    // Búsqueda de texto en título y descripción, ordenada por relevancia. status/createdBy null = sin filtrar
+    List<Event> search(String query, EventStatus status, String createdBy, int limit);
 }
@@ -0,0 +1,83 @@
+package com.docencia.aed.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de las consultas del repositorio (en memoria o JDBC): duración, eventos
+ * devueltos y entradas recorridas, por tipo de consulta. Los medidores se crean una vez
+ * al arrancar; en cada consulta solo se suman valores. Devueltos y recorridos son
+ * contadores (divididos por las consultas del timer dan la media, y su cociente lo que
+ * se recorre de más), que cuestan mucho menos que una distribución.
+ *
+ * Lo mismo, llamada a llamada, va también a la contabilidad de la petición en curso
+ * (RepositoryWork).
+ */
+public final class QueryMetrics {
+
+    public enum Query {
+        ALL("all"),
+        STATUS("status"),
+        CREATOR("creator"),
+        CREATOR_STATUS("creator_status"),
+        ALL_WINDOW("all_window"),
+        STATUS_WINDOW("status_window"),
+        CREATOR_WINDOW("creator_window"),
+        CREATOR_STATUS_WINDOW("creator_status_window"),
+        SEARCH("search");
+
+        private final String tag;
+
+        Query(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final Map<Query, Meters> meters = new EnumMap<>(Query.class);
+    private final Counter hits;
+    private final Counter misses;
+
+    public QueryMetrics(MeterRegistry registry) {
+        for (Query query : Query.values()) {
+            meters.put(query, new Meters(
+                    Timer.builder("events.repository.query").tag("query", query.tag).register(registry),
+                    Counter.builder("events.repository.query.results").tag("query", query.tag).register(registry),
+                    Counter.builder("events.repository.query.scanned").tag("query", query.tag)
+                            .description("Entries visited to build the result").register(registry)));
+        }
+        // findById es demasiado barato para cronometrarlo: solo se cuenta
+        this.hits = Counter.builder("events.repository.find.by.id").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("events.repository.find.by.id").tag("result", "miss").register(registry);
+    }
+
+    public void record(Query query, long startNanos, int scanned, int results) {
+        record(query, startNanos, scanned, results, 0);
+    }
+
+    public void record(Query query, long startNanos, int scanned, int results, long sortNanos) {
+        long nanos = System.nanoTime() - startNanos;
+        Meters m = meters.get(query);
+        m.time.record(nanos, TimeUnit.NANOSECONDS);
+        m.scanned.increment(scanned);
+        m.results.increment(results);
+        RepositoryWork.record(query.tag, nanos, scanned, results, sortNanos);
+    }
+
+    public void findById(boolean found) {
+        (found ? hits : misses).increment();
+        RepositoryWork.record("by_id", 0, 1, found ? 1 : 0, 0);
+    }
+
+    // Las escrituras solo van a la contabilidad de la petición: pueden incluir la espera al log
+    public void write(String operation, long startNanos, int events) {
+        RepositoryWork.record(operation, System.nanoTime() - startNanos, events, events, 0);
+    }
+
+    private record Meters(Timer time, Counter results, Counter scanned) {
+    }
+}
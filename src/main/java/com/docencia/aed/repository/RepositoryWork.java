@@ -0,0 +1,76 @@
+package com.docencia.aed.repository;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Trabajo hecho en el repositorio durante la petición en curso: llamadas, entradas
+ * examinadas frente a devueltas, tiempo y tiempo de ordenación, en total y por tipo de
+ * consulta. Lo abre y lo cierra un filtro HTTP (RepositoryWorkFilter) en el hilo de la
+ * petición; las implementaciones de EventRepository informan con {@link #record}, que
+ * fuera de una petición no hace nada.
+ */
+public final class RepositoryWork {
+
+    private static final ThreadLocal<RepositoryWork> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Totals> byQuery = new LinkedHashMap<>();
+    private final Totals total = new Totals();
+
+    private RepositoryWork() {
+    }
+
+    public static RepositoryWork start() {
+        RepositoryWork work = new RepositoryWork();
+        CURRENT.set(work);
+        return work;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Una llamada al repositorio. {@code query} es la forma de la consulta (qué índice o
+     * qué filtro), no sus valores; {@code nanos} puede ser 0 en llamadas que no se
+     * cronometran por baratas.
+     */
+    public static void record(String query, long nanos, long examined, long returned, long sortNanos) {
+        RepositoryWork work = CURRENT.get();
+        if (work != null) {
+            work.total.add(nanos, examined, returned, sortNanos);
+            work.byQuery.computeIfAbsent(query, q -> new Totals()).add(nanos, examined, returned, sortNanos);
+        }
+    }
+
+    public Totals getTotal() {
+        return total;
+    }
+
+    public Map<String, Totals> getQueries() {
+        return Collections.unmodifiableMap(byQuery);
+    }
+
+    public static final class Totals {
+        private int calls;
+        private long nanos;
+        private long examined;
+        private long returned;
+        private long sortNanos;
+
+        private void add(long nanos, long examined, long returned, long sortNanos) {
+            this.calls++;
+            this.nanos += nanos;
+            this.examined += examined;
+            this.returned += returned;
+            this.sortNanos += sortNanos;
+        }
+
+        public int getCalls() { return calls; }
+        public long getNanos() { return nanos; }
+        public long getExamined() { return examined; }
+        public long getReturned() { return returned; }
+        public long getSortNanos() { return sortNanos; }
+    }
+}
@@ -0,0 +1,214 @@
+package com.docencia.aed.repository.cache;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.persistence.StoreProperties;
+import com.docencia.aed.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Caché de lectura delante de cualquier EventRepository (app.store.cache.*), para lo
+ * que más se lee: findById y el listado de aprobados (completo o por páginas). El
+ * resto de consultas va directo al repositorio.
+ *
+ * Cada escritura, cuando ya está hecha, quita de la caché los ids que ha tocado
+ * (también los que se guardaron como "no existe") y descarta el listado de aprobados.
+ * update solo lo descarta si el evento estaba o queda aprobado: las transiciones de
+ * borrador a pendiente no lo tocan.
+ */
+public class CachingEventRepository implements EventRepository {
+
+    // Clave del listado completo (findByStatus)
+    private static final int ALL = -1;
+
+    private final EventRepository repo;
+    private final FrequencyCache<Long, Event> byId;
+    private final FrequencyCache<Page, List<Event>> approved;
+
+    public CachingEventRepository(EventRepository repo, StoreProperties.Cache props, MeterRegistry registry) {
+        this.repo = repo;
+        long ttl = TimeUnit.SECONDS.toNanos(props.getTtlSeconds());
+        this.byId = new FrequencyCache<>("by_id", event -> 1, props.getMaxEvents(), ttl, registry);
+        this.approved = new FrequencyCache<>("approved", events -> events.size() + 1,
+                props.getMaxApprovedEvents(), ttl, registry);
+    }
+
+    @Override
+    public Optional<Event> findById(Long id) {
+        return Optional.ofNullable(byId.get(id, key -> repo.findById(key).orElse(null)));
+    }
+
+    @Override
+    public List<Event> findByStatus(EventStatus status) {
+        if (status != EventStatus.APPROVED) {
+            return repo.findByStatus(status);
+        }
+        return approved.get(new Page(null, ALL), page -> List.copyOf(repo.findByStatus(status)));
+    }
+
+    @Override
+    public List<Event> findByStatusAfter(EventStatus status, Long afterId, int limit) {
+        if (status != EventStatus.APPROVED) {
+            return repo.findByStatusAfter(status, afterId, limit);
+        }
+        // La lista se comparte entre peticiones: inmutable
+        return approved.get(new Page(afterId, limit),
+                page -> List.copyOf(repo.findByStatusAfter(status, afterId, limit)));
+    }
+
+    @Override
+    public Event save(Event event) {
+        try {
+            return repo.save(event);
+        } finally {
+            written(event);
+        }
+    }
+
+    @Override
+    public List<Event> saveAll(List<Event> events) {
+        try {
+            return repo.saveAll(events);
+        } finally {
+            written(events);
+        }
+    }
+
+    @Override
+    public boolean saveIfVersion(Event event, long expectedVersion) {
+        try {
+            return repo.saveIfVersion(event, expectedVersion);
+        } finally {
+            written(event);
+        }
+    }
+
+    @Override
+    public boolean[] saveAllIfVersion(List<Event> events, long[] expectedVersions) {
+        try {
+            return repo.saveAllIfVersion(events, expectedVersions);
+        } finally {
+            written(events);
+        }
+    }
+
+    @Override
+    public Optional<Event> update(Long id, UnaryOperator<Event> change) {
+        boolean[] touchesApproved = new boolean[1];
+        try {
+            return repo.update(id, current -> {
+                Event next = change.apply(current);
+                touchesApproved[0] = current.getStatus() == EventStatus.APPROVED
+                        || next.getStatus() == EventStatus.APPROVED;
+                return next;
+            });
+        } finally {
+            byId.invalidate(id);
+            if (touchesApproved[0]) {
+                approved.clear();
+            }
+        }
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        try {
+            repo.deleteById(id);
+        } finally {
+            byId.invalidate(id);
+            approved.clear();
+        }
+    }
+
+    @Override
+    public boolean deleteByIdIfVersion(Long id, long expectedVersion) {
+        try {
+            return repo.deleteByIdIfVersion(id, expectedVersion);
+        } finally {
+            byId.invalidate(id);
+            approved.clear();
+        }
+    }
+
+    // Los ids nuevos ya están asignados cuando se llega aquí
+    private void written(Event event) {
+        if (event.getId() != null) {
+            byId.invalidate(event.getId());
+        }
+        approved.clear();
+    }
+
+    private void written(List<Event> events) {
+        for (Event event : events) {
+            if (event.getId() != null) {
+                byId.invalidate(event.getId());
+            }
+        }
+        approved.clear();
+    }
+
+    @Override
+    public List<Event> findAll() {
+        return repo.findAll();
+    }
+
+    @Override
+    public List<Event> findByCreatedBy(String username) {
+        return repo.findByCreatedBy(username);
+    }
+
+    @Override
+    public List<Event> findByCreatedByAndStatus(String username, EventStatus status) {
+        return repo.findByCreatedByAndStatus(username, status);
+    }
+
+    @Override
+    public List<Event> findAllAfter(Long afterId, int limit) {
+        return repo.findAllAfter(afterId, limit);
+    }
+
+    @Override
+    public List<Event> findByCreatedByAfter(String username, Long afterId, int limit) {
+        return repo.findByCreatedByAfter(username, afterId, limit);
+    }
+
+    @Override
+    public List<Event> findByCreatedByAndStatusAfter(String username, EventStatus status, Long afterId, int limit) {
+        return repo.findByCreatedByAndStatusAfter(username, status, afterId, limit);
+    }
+
+    @Override
+    public List<Event> findAllBetween(Instant from, Instant to, int limit) {
+        return repo.findAllBetween(from, to, limit);
+    }
+
+    @Override
+    public List<Event> findByStatusBetween(EventStatus status, Instant from, Instant to, int limit) {
+        return repo.findByStatusBetween(status, from, to, limit);
+    }
+
+    @Override
+    public List<Event> findByCreatedByBetween(String username, Instant from, Instant to, int limit) {
+        return repo.findByCreatedByBetween(username, from, to, limit);
+    }
+
+    @Override
+    public List<Event> findByCreatedByAndStatusBetween(String username, EventStatus status, Instant from, Instant to,
+                                                       int limit) {
+        return repo.findByCreatedByAndStatusBetween(username, status, from, to, limit);
+    }
+
+    @Override
+    public List<Event> search(String query, EventStatus status, String createdBy, int limit) {
+        return repo.search(query, status, createdBy, limit);
+    }
+
+    private record Page(Long afterId, int limit) {
+    }
+}
@@ -0,0 +1,259 @@
+package com.docencia.aed.repository.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Caché acotada por peso con expulsión por frecuencia (LFU con envejecimiento).
+ *
+ * - Una sola carga por clave: quien llega mientras otro hilo está cargando la misma
+ *   clave espera a su resultado en vez de ir también al repositorio.
+ * - null es un valor más (caché negativa: "no existe").
+ * - invalidate/clear tras una escritura: una carga que empezó antes nunca deja en la
+ *   caché el valor anterior, porque su entrada ya no está en el mapa (o el mapa entero
+ *   ya no es el actual) cuando termina.
+ * - Al pasar de maxWeight un solo hilo expulsa hasta volver al límite, sin ordenar
+ *   nada: de cada SAMPLE entradas cargadas sale la de menor frecuencia, y a las otras se
+ *   les divide el contador a la mitad para que lo que fue popular hace tiempo no se
+ *   quede para siempre. Las muestras se toman avanzando un cursor por el mapa (como la
+ *   aguja de un reloj), así que cada carga que pasa del límite cuesta unas pocas
+ *   entradas. Si la elegida se ha usado más que la que se acaba de cargar, sale la
+ *   nueva (admisión como en TinyLFU): con ids consecutivos las claves vecinas en el
+ *   mapa suelen ser igual de recientes, y una muestra solo de populares no debe
+ *   expulsar a ninguna por una clave leída una vez. El resto de hilos no espera.
+ */
+final class FrequencyCache<K, V> {
+
+    // Estado de una entrada (Node.state)
+    private static final int LOADED = 1;
+    private static final int REMOVED = 2;
+    // Entradas que se comparan para expulsar una
+    private static final int SAMPLE = 8;
+
+    private final ToIntFunction<V> weigher;
+    private final long maxWeight;
+    private final long expireAfterNanos;
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    // clear() cambia de generación en vez de vaciar el mapa: lo que carguen las
+    // lecturas que empezaron antes va a parar a la generación abandonada
+    private volatile Generation<K, V> current = new Generation<>();
+
+    private final Counter hits;
+    private final Counter negativeHits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    FrequencyCache(String name, ToIntFunction<V> weigher, long maxWeight, long expireAfterNanos,
+                   MeterRegistry registry) {
+        this.weigher = weigher;
+        this.maxWeight = maxWeight;
+        this.expireAfterNanos = expireAfterNanos;
+        this.hits = requests(registry, name, "hit");
+        this.negativeHits = requests(registry, name, "negative");
+        this.misses = requests(registry, name, "miss");
+        this.evictions = Counter.builder("events.repository.cache.evictions").tag("cache", name).register(registry);
+        Gauge.builder("events.repository.cache.weight", this, c -> c.current.weight.get()).tag("cache", name)
+                .register(registry);
+    }
+
+    private static Counter requests(MeterRegistry registry, String name, String result) {
+        return Counter.builder("events.repository.cache.requests").tag("cache", name).tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * El valor de key, cargándolo con loader si no está. Si la carga falla la excepción
+     * llega a todos los que la esperaban y no se guarda nada.
+     */
+    V get(K key, Function<K, V> loader) {
+        Generation<K, V> generation = current;
+        long now = System.nanoTime();
+        Node<V> node = generation.entries.get(key);
+        if (node != null && now - node.expiresAt > 0) {
+            generation.remove(key, node);
+            node = null;
+        }
+        if (node != null) {
+            node.frequency.incrementAndGet();
+            V value = join(node);
+            (value != null ? hits : negativeHits).increment();
+            return value;
+        }
+
+        Node<V> loading = new Node<>(now + expireAfterNanos);
+        Node<V> raced = generation.entries.putIfAbsent(key, loading);
+        if (raced != null) {
+            // Otro hilo ya la está cargando: no es un acceso más al repositorio
+            raced.frequency.incrementAndGet();
+            V value = join(raced);
+            (value != null ? hits : negativeHits).increment();
+            return value;
+        }
+        misses.increment();
+        V value;
+        try {
+            value = loader.apply(key);
+        } catch (RuntimeException e) {
+            generation.entries.remove(key, loading);
+            loading.value.completeExceptionally(e);
+            throw e;
+        }
+        loading.weight = value != null ? weigher.applyAsInt(value) : 1;
+        loading.value.complete(value);
+        if (loading.weight > maxWeight) {
+            // No cabe ni sola: se devuelve sin guardarla
+            generation.remove(key, loading);
+        } else if (generation.loaded(loading) && generation.weight.get() > maxWeight) {
+            evict(generation, key, loading);
+        }
+        return value;
+    }
+
+    void invalidate(K key) {
+        Generation<K, V> generation = current;
+        Node<V> node = generation.entries.remove(key);
+        if (node != null) {
+            generation.removed(node);
+        }
+    }
+
+    void clear() {
+        current = new Generation<>();
+    }
+
+    private static <V> V join(Node<V> node) {
+        try {
+            return node.value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void evict(Generation<K, V> generation, K newKey, Node<V> newNode) {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            // Cota de entradas visitadas, por si las cargadas se van quitando mientras tanto
+            int budget = 2 * generation.entries.size() + SAMPLE;
+            while (generation.weight.get() > maxWeight && budget > 0) {
+                K victimKey = null;
+                Node<V> victim = null;
+                for (int sampled = 0; sampled < SAMPLE && budget > 0; budget--) {
+                    Map.Entry<K, Node<V>> entry = generation.advanceHand();
+                    if (entry == null) {
+                        budget = 0;
+                        break;
+                    }
+                    Node<V> node = entry.getValue();
+                    if (!node.value.isDone()) {
+                        continue;
+                    }
+                    if (now - node.expiresAt > 0) {
+                        generation.remove(entry.getKey(), node);
+                        continue;
+                    }
+                    sampled++;
+                    if (victim == null || node.frequency.get() < victim.frequency.get()) {
+                        if (victim != null) {
+                            victim.age();
+                        }
+                        victimKey = entry.getKey();
+                        victim = node;
+                    } else {
+                        node.age();
+                    }
+                }
+                if (victim != null && newNode != null && victim != newNode
+                        && victim.frequency.get() > newNode.frequency.get()) {
+                    victimKey = newKey;
+                    victim = newNode;
+                }
+                // La nueva solo compite una vez
+                newNode = null;
+                if (victim != null && generation.remove(victimKey, victim)) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private static final class Generation<K, V> {
+        final ConcurrentHashMap<K, Node<V>> entries = new ConcurrentHashMap<>();
+        // Peso de las entradas cargadas y todavía en el mapa
+        final AtomicLong weight = new AtomicLong();
+        // Cursor de evict; solo lo usa el hilo que tiene el flag evicting
+        private Iterator<Map.Entry<K, Node<V>>> hand = Collections.emptyIterator();
+
+        // La siguiente entrada del cursor, volviendo al principio al acabar (null si no hay)
+        Map.Entry<K, Node<V>> advanceHand() {
+            if (!hand.hasNext()) {
+                hand = entries.entrySet().iterator();
+                if (!hand.hasNext()) {
+                    return null;
+                }
+            }
+            return hand.next();
+        }
+
+        boolean remove(K key, Node<V> node) {
+            if (!entries.remove(key, node)) {
+                return false;
+            }
+            removed(node);
+            return true;
+        }
+
+        // Carga y borrado pueden cruzarse: el peso se suma si la carga termina antes de
+        // que se quite la entrada, y solo entonces se resta al quitarla
+        boolean loaded(Node<V> node) {
+            if ((node.state.getAndUpdate(s -> s | LOADED) & REMOVED) != 0) {
+                return false;
+            }
+            weight.addAndGet(node.weight);
+            return true;
+        }
+
+        void removed(Node<V> node) {
+            if (node.state.getAndUpdate(s -> s | REMOVED) == LOADED) {
+                weight.addAndGet(-node.weight);
+            }
+        }
+    }
+
+    private static final class Node<V> {
+        final CompletableFuture<V> value = new CompletableFuture<>();
+        final AtomicInteger state = new AtomicInteger();
+        final long expiresAt;
+        final AtomicInteger frequency = new AtomicInteger();
+        // Se escribe antes de marcar la carga: quien ve LOADED ve el peso
+        int weight;
+
+        Node(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+
+        void age() {
+            frequency.updateAndGet(f -> f >>> 1);
+        }
+    }
+}
@@ -0,0 +1,552 @@
+package com.docencia.aed.repository.jdbc;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.persistence.StoreProperties;
+import com.docencia.aed.repository.EventRepository;
+import com.docencia.aed.repository.QueryMetrics;
+import com.docencia.aed.repository.QueryMetrics.Query;
+import com.docencia.aed.repository.memory.TextIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * EventRepository sobre JDBC, con el perfil jdbc (H2 en fichero; ver
+ * application-jdbc.properties). El esquema y sus índices están en db/events-schema.sql.
+ *
+ * Todo va con sentencias preparadas; las escrituras por lotes se envían con
+ * executeBatch en grupos de app.store.jdbc.batch-size filas. Las escrituras
+ * condicionadas comprueban la versión en el propio UPDATE/DELETE, y update bloquea
+ * solo la fila (SELECT ... FOR UPDATE) mientras aplica el cambio.
+ */
+@Repository
+@Profile("jdbc")
+@DependsOnDatabaseInitialization
+public class JdbcEventRepository implements EventRepository {
+
+    private static final String COLUMNS = "id, title, description, start_at, end_at, status, created_by, "
+            + "created_at, updated_at, approved_by, approved_at, rejection_reason, version";
+    private static final String SELECT = "SELECT " + COLUMNS + " FROM events ";
+
+    // bind() rellena los 14 primeros parámetros de las dos, en este orden
+    private static final String DATA = "title, description, start_at, end_at, status, created_by, created_at, "
+            + "updated_at, approved_by, approved_at, rejection_reason, title_terms, description_terms, version";
+    private static final String INSERT_WITH_ID = "INSERT INTO events (" + DATA + ", id) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE events SET title = ?, description = ?, start_at = ?, end_at = ?, "
+            + "status = ?, created_by = ?, created_at = ?, updated_at = ?, approved_by = ?, approved_at = ?, "
+            + "rejection_reason = ?, title_terms = ?, description_terms = ?, version = ? WHERE id = ?";
+    private static final String UPDATE_IF_VERSION = UPDATE + " AND version = ?";
+
+    // Ids nuevos, los que se pidan: cada fila del rango es una llamada a la secuencia
+    private static final String NEXT_IDS = "SELECT NEXT VALUE FOR events_id_seq FROM SYSTEM_RANGE(1, ?)";
+    private static final String LAST_ID = "SELECT MAX(NEXT VALUE FOR events_id_seq) FROM SYSTEM_RANGE(1, ?)";
+    private static final String NEXT_ID = "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES "
+            + "WHERE SEQUENCE_NAME = 'EVENTS_ID_SEQ'";
+
+    // Veces que write se repite cuando choca con otra escritura en un id (ver reserveIds)
+    private static final int WRITE_ATTEMPTS = 3;
+
+    // Los mismos pesos que TextIndex en el store en memoria
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final QueryMetrics metrics;
+
+    // La duración máxima vista acota por abajo el rango de start_at de una ventana
+    // temporal, para que el índice no se recorra desde el principio. Solo crece (hasta
+    // reiniciar); en memoria, en cambio, se separa por clases de duración
+    private final AtomicLong maxDurationMillis = new AtomicLong(0);
+
+    public JdbcEventRepository(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+            StoreProperties storeProperties, MeterRegistry registry) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = storeProperties.getJdbc().getBatchSize();
+        Long maxDuration = jdbc.queryForObject(
+                "SELECT MAX(DATEDIFF('MILLISECOND', start_at, end_at)) FROM events", Long.class);
+        maxDurationMillis.set(maxDuration != null ? maxDuration : 0);
+        // Una base de datos de antes de la secuencia ya tiene ids: se empieza detrás del último
+        Long maxId = jdbc.queryForObject("SELECT MAX(id) FROM events", Long.class);
+        if (maxId != null) {
+            reserveIds(maxId);
+        }
+        // El gauge events.store.size lo registra JdbcStoreSize
+        this.metrics = new QueryMetrics(registry);
+    }
+
+    @Override
+    public Event save(Event event) {
+        long start = System.nanoTime();
+        write(List.of(event));
+        metrics.write("save", start, 1);
+        return event;
+    }
+
+    @Override
+    public List<Event> saveAll(List<Event> events) {
+        long start = System.nanoTime();
+        write(events);
+        metrics.write("save_all", start, events.size());
+        return events;
+    }
+
+    /**
+     * Inserta los eventos sin id con ids nuevos de la secuencia y, para los que lo traen,
+     * actualiza los que existen e inserta el resto, todo en una transacción. La versión
+     * siguiente se calcula con las filas ya bloqueadas. Si otra escritura inserta antes
+     * uno de los mismos ids, se repite entera: lo generado con ids nuevos, y lo que traía
+     * id ya existe y se actualiza (como dos save seguidos del mismo id).
+     */
+    private void write(List<Event> events) {
+        List<Event> generated = new ArrayList<>();
+        List<Event> explicit = new ArrayList<>();
+        for (Event event : events) {
+            (event.getId() == null ? generated : explicit).add(event);
+            trackDuration(event);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                tx.executeWithoutResult(status -> {
+                    insertGenerated(generated);
+                    if (!explicit.isEmpty()) {
+                        upsert(explicit);
+                    }
+                });
+                return;
+            } catch (DuplicateKeyException e) {
+                if (attempt == WRITE_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private void insertGenerated(List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        List<Long> ids = jdbc.queryForList(NEXT_IDS, Long.class, events.size());
+        for (int i = 0; i < events.size(); i++) {
+            events.get(i).setId(ids.get(i));
+            events.get(i).setVersion(1);
+        }
+        batch(INSERT_WITH_ID, events);
+    }
+
+    private void upsert(List<Event> events) {
+        Map<Long, Long> versions = lockVersions(events);
+        List<Event> updated = new ArrayList<>();
+        List<Event> inserted = new ArrayList<>();
+        long maxInserted = 0;
+        for (Event event : events) {
+            Long version = versions.get(event.getId());
+            event.setVersion(version != null ? version + 1 : 1);
+            if (version != null) {
+                updated.add(event);
+            } else {
+                inserted.add(event);
+                maxInserted = Math.max(maxInserted, event.getId());
+            }
+        }
+        if (!inserted.isEmpty()) {
+            reserveIds(maxInserted);
+        }
+        batch(UPDATE, updated);
+        batch(INSERT_WITH_ID, inserted);
+    }
+
+    private Map<Long, Long> lockVersions(List<Event> events) {
+        Long[] ids = events.stream().map(Event::getId).toArray(Long[]::new);
+        Map<Long, Long> versions = new HashMap<>();
+        jdbc.query("SELECT id, version FROM events WHERE id = ANY(?) FOR UPDATE",
+                rs -> { versions.put(rs.getLong(1), rs.getLong(2)); }, (Object) ids);
+        return versions;
+    }
+
+    /**
+     * Antes de insertar ids puestos a mano (el generador de datos) se piden valores a la
+     * secuencia hasta pasar del mayor de ellos: desde ahí ninguna inserción los recibe.
+     * Sin DDL y sin esperar a nadie; pedir de más solo deja huecos. Un valor que otra
+     * escritura había pedido antes y aún no ha insertado puede coincidir con uno de
+     * estos ids: la que inserte después falla por clave duplicada (write lo repite).
+     */
+    private void reserveIds(long maxId) {
+        long next = jdbc.queryForObject(NEXT_ID, Long.class);
+        while (next <= maxId) {
+            next = jdbc.queryForObject(LAST_ID, Long.class, maxId - next + 1) + 1;
+        }
+    }
+
+    @Override
+    public boolean saveIfVersion(Event event, long expectedVersion) {
+        long start = System.nanoTime();
+        trackDuration(event);
+        int rows = jdbc.update(UPDATE_IF_VERSION, ps -> {
+            bind(ps, event, expectedVersion + 1);
+            ps.setLong(15, event.getId());
+            ps.setLong(16, expectedVersion);
+        });
+        boolean saved = rows == 1;
+        if (!saved && expectedVersion == 0) {
+            // Versión 0 = que no exista todavía (como en memoria)
+            saved = insertIfAbsent(event);
+        } else if (saved) {
+            event.setVersion(expectedVersion + 1);
+        }
+        metrics.write("save_if_version", start, saved ? 1 : 0);
+        return saved;
+    }
+
+    private boolean insertIfAbsent(Event event) {
+        reserveIds(event.getId());
+        try {
+            jdbc.update(INSERT_WITH_ID, ps -> {
+                bind(ps, event, 1);
+                ps.setLong(15, event.getId());
+            });
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+        event.setVersion(1);
+        return true;
+    }
+
+    @Override
+    public boolean[] saveAllIfVersion(List<Event> events, long[] expectedVersions) {
+        long start = System.nanoTime();
+        boolean[] saved = new boolean[events.size()];
+        List<Integer> items = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            trackDuration(events.get(i));
+            items.add(i);
+        }
+        // Una transacción para todos los lotes, como saveAll
+        int[][] counts = tx.execute(status -> jdbc.batchUpdate(UPDATE_IF_VERSION, items, batchSize, (ps, i) -> {
+            Event event = events.get(i);
+            bind(ps, event, expectedVersions[i] + 1);
+            ps.setLong(15, event.getId());
+            ps.setLong(16, expectedVersions[i]);
+        }));
+        int i = 0;
+        int written = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                if (count == 1) {
+                    saved[i] = true;
+                    events.get(i).setVersion(expectedVersions[i] + 1);
+                    written++;
+                }
+                i++;
+            }
+        }
+        metrics.write("save_all_if_version", start, written);
+        return saved;
+    }
+
+    @Override
+    public Optional<Event> update(Long id, UnaryOperator<Event> change) {
+        long start = System.nanoTime();
+        Event saved = tx.execute(status -> {
+            List<Event> current = jdbc.query(SELECT + "WHERE id = ? FOR UPDATE", JdbcEventRepository::map, id);
+            if (current.isEmpty()) {
+                return null;
+            }
+            Event event = change.apply(current.get(0));
+            long version = current.get(0).getVersion() + 1;
+            trackDuration(event);
+            jdbc.update(UPDATE, ps -> {
+                bind(ps, event, version);
+                ps.setLong(15, id);
+            });
+            event.setVersion(version);
+            return event;
+        });
+        metrics.write("update", start, saved != null ? 1 : 0);
+        return Optional.ofNullable(saved);
+    }
+
+    @Override
+    public Optional<Event> findById(Long id) {
+        List<Event> found = jdbc.query(SELECT + "WHERE id = ?", JdbcEventRepository::map, id);
+        metrics.findById(!found.isEmpty());
+        return found.stream().findFirst();
+    }
+
+    @Override
+    public List<Event> findAll() {
+        return findAllAfter(null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        long start = System.nanoTime();
+        int deleted = jdbc.update("DELETE FROM events WHERE id = ?", id);
+        metrics.write("delete", start, deleted);
+    }
+
+    @Override
+    public boolean deleteByIdIfVersion(Long id, long expectedVersion) {
+        long start = System.nanoTime();
+        boolean deleted = jdbc.update("DELETE FROM events WHERE id = ? AND version = ?", id, expectedVersion) == 1;
+        metrics.write("delete_if_version", start, deleted ? 1 : 0);
+        return deleted;
+    }
+
+    @Override
+    public List<Event> findByStatus(EventStatus status) {
+        return findByStatusAfter(status, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Event> findByCreatedBy(String username) {
+        return findByCreatedByAfter(username, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Event> findByCreatedByAndStatus(String username, EventStatus status) {
+        return findByCreatedByAndStatusAfter(username, status, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Event> findAllAfter(Long afterId, int limit) {
+        return query(Query.ALL, SELECT + "WHERE id > ? ORDER BY id LIMIT ?", after(afterId), limit);
+    }
+
+    @Override
+    public List<Event> findByStatusAfter(EventStatus status, Long afterId, int limit) {
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        // El ORDER BY repite las columnas fijadas con = para que H2 vea que el índice ya da
+        // el orden y pare en limit; con ORDER BY id a secas lee el rango entero y lo ordena
+        return query(Query.STATUS, SELECT + "WHERE status = ? AND id > ? ORDER BY status, id LIMIT ?",
+                status.name(), after(afterId), limit);
+    }
+
+    @Override
+    public List<Event> findByCreatedByAfter(String username, Long afterId, int limit) {
+        if (username == null) {
+            return new ArrayList<>();
+        }
+        return query(Query.CREATOR, SELECT + "WHERE created_by = ? AND id > ? ORDER BY created_by, id LIMIT ?",
+                username, after(afterId), limit);
+    }
+
+    @Override
+    public List<Event> findByCreatedByAndStatusAfter(String username, EventStatus status, Long afterId, int limit) {
+        if (username == null || status == null) {
+            return new ArrayList<>();
+        }
+        return query(Query.CREATOR_STATUS,
+                SELECT + "WHERE created_by = ? AND status = ? AND id > ? ORDER BY created_by, status, id LIMIT ?",
+                username, status.name(), after(afterId), limit);
+    }
+
+    @Override
+    public List<Event> findAllBetween(Instant from, Instant to, int limit) {
+        return window(Query.ALL_WINDOW, "", "", List.of(), from, to, limit);
+    }
+
+    @Override
+    public List<Event> findByStatusBetween(EventStatus status, Instant from, Instant to, int limit) {
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        return window(Query.STATUS_WINDOW, "status = ? AND ", "status, ", List.of(status.name()), from, to, limit);
+    }
+
+    @Override
+    public List<Event> findByCreatedByBetween(String username, Instant from, Instant to, int limit) {
+        if (username == null) {
+            return new ArrayList<>();
+        }
+        return window(Query.CREATOR_WINDOW, "created_by = ? AND ", "created_by, ", List.of(username), from, to, limit);
+    }
+
+    @Override
+    public List<Event> findByCreatedByAndStatusBetween(String username, EventStatus status, Instant from, Instant to,
+            int limit) {
+        if (username == null || status == null) {
+            return new ArrayList<>();
+        }
+        return window(Query.CREATOR_STATUS_WINDOW, "created_by = ? AND status = ? AND ", "created_by, status, ",
+                List.of(username, status.name()), from, to, limit);
+    }
+
+    /**
+     * Eventos que se solapan con [from, to), en orden de startAt. El rango de start_at
+     * empieza en {@code from - maxDuration}. {@code order}: las columnas de
+     * {@code filter}, por lo mismo que en findByStatusAfter.
+     */
+    private List<Event> window(Query query, String filter, String order, List<Object> filterArgs, Instant from,
+            Instant to, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT).append("WHERE ").append(filter).append("start_at IS NOT NULL");
+        List<Object> args = new ArrayList<>(filterArgs);
+        if (from != null) {
+            sql.append(" AND start_at >= ? AND COALESCE(end_at, start_at) >= ?");
+            args.add(timestamp(from.minusMillis(maxDurationMillis.get())));
+            args.add(timestamp(from));
+        }
+        if (to != null) {
+            sql.append(" AND start_at < ?");
+            args.add(timestamp(to));
+        }
+        sql.append(" ORDER BY ").append(order).append("start_at, id LIMIT ?");
+        args.add(limit);
+        return query(query, sql.toString(), args.toArray());
+    }
+
+    /**
+     * Búsqueda sobre las columnas de términos, con la misma normalización que TextIndex.
+     * La puntuación suma los pesos de título y descripción de cada término que aparece
+     * (sin el idf del store en memoria). No hay índice de texto: se recorre la tabla.
+     */
+    @Override
+    public List<Event> search(String query, EventStatus status, String createdBy, int limit) {
+        List<String> terms = TextIndex.tokenize(query);
+        if (terms.isEmpty()) {
+            metrics.record(Query.SEARCH, System.nanoTime(), 0, 0);
+            return new ArrayList<>();
+        }
+        StringBuilder match = new StringBuilder();
+        StringBuilder score = new StringBuilder();
+        List<Object> matchArgs = new ArrayList<>();
+        List<Object> scoreArgs = new ArrayList<>();
+        for (String term : terms) {
+            String pattern = "% " + term + " %";
+            match.append(match.isEmpty() ? "" : " OR ").append("title_terms LIKE ? OR description_terms LIKE ?");
+            score.append(score.isEmpty() ? "" : " + ")
+                    .append("CASE WHEN title_terms LIKE ? THEN ").append(TITLE_WEIGHT).append(" ELSE 0 END")
+                    .append(" + CASE WHEN description_terms LIKE ? THEN ").append(DESCRIPTION_WEIGHT)
+                    .append(" ELSE 0 END");
+            matchArgs.add(pattern);
+            matchArgs.add(pattern);
+            scoreArgs.add(pattern);
+            scoreArgs.add(pattern);
+        }
+        StringBuilder sql = new StringBuilder(SELECT).append("WHERE (").append(match).append(")");
+        List<Object> args = new ArrayList<>(matchArgs);
+        if (status != null) {
+            sql.append(" AND status = ?");
+            args.add(status.name());
+        }
+        if (createdBy != null) {
+            sql.append(" AND created_by = ?");
+            args.add(createdBy);
+        }
+        sql.append(" ORDER BY ").append(score).append(" DESC, id LIMIT ?");
+        args.addAll(scoreArgs);
+        args.add(limit);
+        return query(Query.SEARCH, sql.toString(), args.toArray());
+    }
+
+    // Las filas examinadas las cuenta la base de datos: aquí solo se ven las devueltas
+    private List<Event> query(Query query, String sql, Object... args) {
+        long start = System.nanoTime();
+        List<Event> result = jdbc.query(sql, JdbcEventRepository::map, args);
+        metrics.record(query, start, result.size(), result.size());
+        return result;
+    }
+
+    private void trackDuration(Event event) {
+        if (event.getStartAt() != null && event.getEndAt() != null) {
+            long duration = Duration.between(event.getStartAt(), event.getEndAt()).toMillis();
+            maxDurationMillis.accumulateAndGet(duration, Math::max);
+        }
+    }
+
+    private void batch(String sql, List<Event> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        ParameterizedPreparedStatementSetter<Event> setter = (ps, event) -> {
+            bind(ps, event);
+            ps.setLong(15, event.getId());
+        };
+        jdbc.batchUpdate(sql, events, batchSize, setter);
+    }
+
+    private static void bind(PreparedStatement ps, Event event) throws SQLException {
+        bind(ps, event, event.getVersion());
+    }
+
+    private static void bind(PreparedStatement ps, Event event, long version) throws SQLException {
+        ps.setString(1, event.getTitle());
+        ps.setString(2, event.getDescription());
+        ps.setTimestamp(3, timestamp(event.getStartAt()));
+        ps.setTimestamp(4, timestamp(event.getEndAt()));
+        ps.setString(5, event.getStatus().name());
+        ps.setString(6, event.getCreatedBy());
+        ps.setTimestamp(7, timestamp(event.getCreatedAt()));
+        ps.setTimestamp(8, timestamp(event.getUpdatedAt()));
+        ps.setString(9, event.getApprovedBy());
+        ps.setTimestamp(10, timestamp(event.getApprovedAt()));
+        ps.setString(11, event.getRejectionReason());
+        ps.setString(12, terms(event.getTitle()));
+        ps.setString(13, terms(event.getDescription()));
+        ps.setLong(14, version);
+    }
+
+    private static Event map(ResultSet rs, int row) throws SQLException {
+        Event event = new Event();
+        event.setId(rs.getLong(1));
+        event.setTitle(rs.getString(2));
+        event.setDescription(rs.getString(3));
+        event.setStartAt(instant(rs, 4));
+        event.setEndAt(instant(rs, 5));
+        event.setStatus(EventStatus.valueOf(rs.getString(6)));
+        event.setCreatedBy(rs.getString(7));
+        event.setCreatedAt(instant(rs, 8));
+        event.setUpdatedAt(instant(rs, 9));
+        event.setApprovedBy(rs.getString(10));
+        event.setApprovedAt(instant(rs, 11));
+        event.setRejectionReason(rs.getString(12));
+        event.setVersion(rs.getLong(13));
+        return event;
+    }
+
+    // " t1 t2 ... ": con los espacios de los extremos, LIKE '% t %' solo casa términos completos
+    private static String terms(String text) {
+        return " " + String.join(" ", TextIndex.tokenize(text)) + " ";
+    }
+
+    private static long after(Long afterId) {
+        return afterId != null ? afterId : Long.MIN_VALUE;
+    }
+
+    // Timestamp y no OffsetDateTime: es el tipo que entiende cualquier driver y, al
+    // leer, H2 lo construye en la mitad de tiempo. El instante es el mismo.
+    private static Timestamp timestamp(Instant instant) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+
+    private static Instant instant(ResultSet rs, int column) throws SQLException {
+        Timestamp value = rs.getTimestamp(column);
+        return value != null ? value.toInstant() : null;
+    }
+}
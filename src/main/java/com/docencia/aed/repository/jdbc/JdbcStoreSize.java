@@ -0,0 +1,62 @@
+package com.docencia.aed.repository.jdbc;
+
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.persistence.StoreProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Gauge events.store.size{status} con el perfil jdbc. En memoria el tamaño de cada
+ * índice es un contador; aquí cuesta una consulta, así que los gauges de todos los
+ * estados comparten un recuento (un GROUP BY sobre el índice de status) que se repite
+ * como mucho cada app.store.jdbc.size-refresh-seconds, al leer alguno. Mientras un
+ * hilo lo repite, el resto publica el anterior.
+ */
+@Component
+@Profile("jdbc")
+public final class JdbcStoreSize {
+
+    private final JdbcTemplate jdbc;
+    private final long refreshNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long[] counts = new long[EventStatus.values().length];
+    private volatile long refreshedAt;
+
+    public JdbcStoreSize(JdbcTemplate jdbc, StoreProperties storeProperties, MeterRegistry registry) {
+        this.jdbc = jdbc;
+        this.refreshNanos = TimeUnit.SECONDS.toNanos(storeProperties.getJdbc().getSizeRefreshSeconds());
+        // La primera lectura ya cuenta
+        this.refreshedAt = System.nanoTime() - refreshNanos;
+        for (EventStatus status : EventStatus.values()) {
+            Gauge.builder("events.store.size", this, size -> size.count(status)).tag("status", status.name())
+                    .register(registry);
+        }
+    }
+
+    long count(EventStatus status) {
+        long now = System.nanoTime();
+        if (now - refreshedAt >= refreshNanos && refreshing.compareAndSet(false, true)) {
+            try {
+                counts = query();
+                refreshedAt = now;
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        return counts[status.ordinal()];
+    }
+
+    private long[] query() {
+        long[] fresh = new long[EventStatus.values().length];
+        jdbc.query("SELECT status, COUNT(*) FROM events GROUP BY status", rs -> {
+            fresh[EventStatus.valueOf(rs.getString(1)).ordinal()] = rs.getLong(2);
+        });
+        return fresh;
+    }
+}
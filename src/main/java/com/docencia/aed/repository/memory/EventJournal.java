@@ -0,0 +1,471 @@
+package com.docencia.aed.repository.memory;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.infrastructure.persistence.StoreProperties;
+import com.docencia.aed.infrastructure.threads.BackgroundThreads;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Durabilidad opcional del repositorio en memoria (app.store.journal.enabled=true).
+ *
+ * Cada save/deleteById se añade a un log (wal-N.log) como registro
+ * [longitud][operación][id][evento JSON][crc32]. Un único hilo escribe y hace fsync
+ * de todo lo acumulado mientras duraba el fsync anterior (group commit), y con
+ * sync-writes=true los escritores esperan a que su registro esté en disco.
+ *
+ * Cada snapshot-every registros se abre un segmento nuevo y se vuelca el store a
+ * snapshot-N.dat, que junto con los segmentos >= N basta para reconstruirlo; lo
+ * anterior se borra. Al arrancar se lee el último snapshot y la cola del log con
+ * ficheros mapeados en memoria. Un registro cortado o con crc incorrecto marca el
+ * final de su segmento (escritura a medias antes de una caída).
+ *
+ * Si escribir en disco falla, el repositorio pasa a solo lectura hasta reiniciar: las
+ * escrituras se rechazan antes de tocar la memoria (503) y el health indicator queda
+ * en DOWN. Las que estaban esperando a ese lote o a los siguientes reciben el mismo
+ * error, aunque sus cambios ya se vean en memoria: no están en disco y se perderán
+ * al reiniciar, y así lo dice el mensaje.
+ */
+@Component
+@Profile("!jdbc")
+@ConditionalOnProperty(prefix = "app.store.journal", name = "enabled", havingValue = "true")
+public class EventJournal implements DisposableBean, HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(EventJournal.class);
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    // operación + id + crc, sin contar el entero de longitud que los precede
+    private static final int RECORD_OVERHEAD = 1 + 8 + 4;
+    private static final long MAP_WINDOW = 1L << 30;
+
+    private static final Pattern SEGMENT = Pattern.compile("wal-(\\d+)\\.log");
+    private static final Pattern SNAPSHOT = Pattern.compile("snapshot-(\\d+)\\.dat");
+
+    private final StoreProperties.Journal props;
+    private final ObjectMapper mapper;
+    private final Path directory;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition hasPending = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private int pendingRecords;
+    private long appended;
+    private long durable;
+    private IOException failure;
+    private boolean running = true;
+
+    // Solo los toca el hilo de escritura (y recover antes de arrancarlo)
+    private FileChannel segment;
+    private long segmentNumber;
+    private int segmentRecords;
+
+    private final ExecutorService snapshots = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "event-journal-snapshot");
+        t.setDaemon(true);
+        return t;
+    });
+    private final BackgroundThreads threads;
+    private Thread writer;
+    private InMemoryEventRepository repo;
+
+    public EventJournal(StoreProperties storeProperties, ObjectMapper mapper, BackgroundThreads threads) {
+        this.props = storeProperties.getJournal();
+        this.mapper = mapper;
+        this.threads = threads;
+        this.directory = Path.of(props.getDirectory());
+    }
+
+    /**
+     * Reconstruye el repositorio desde disco y empieza a registrar sus escrituras
+     * en un segmento nuevo.
+     */
+    void recover(InMemoryEventRepository repo) {
+        this.repo = repo;
+        long started = System.nanoTime();
+        try {
+            Files.createDirectories(directory);
+            long snapshot = latest(SNAPSHOT);
+            long restored = 0;
+            if (snapshot >= 0) {
+                restored += replay(directory.resolve(snapshotName(snapshot)));
+            }
+            long lastSegment = -1;
+            for (long number : numbers(SEGMENT)) {
+                lastSegment = number;
+                if (number >= snapshot) {
+                    restored += replay(directory.resolve(segmentName(number)));
+                }
+            }
+            segmentNumber = Math.max(lastSegment, snapshot) + 1;
+            segment = openSegment(segmentNumber);
+            log.info("Event journal recovered {} records from {} in {} ms", restored, directory.toAbsolutePath(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover the event journal", e);
+        }
+        writer = threads.newThread("event-journal-writer", this::writeLoop);
+        writer.start();
+    }
+
+    /**
+     * Registro con el estado actual del evento, para pasárselo a append. Se prepara
+     * antes de tocar la memoria: en solo lectura o si el evento no se puede serializar
+     * falla aquí y la escritura no llega a hacerse.
+     */
+    byte[] putRecord(Event event) {
+        checkWritable();
+        try {
+            return encode(PUT, event.getId(), mapper.writeValueAsBytes(event));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialize event " + event.getId(), e);
+        }
+    }
+
+    byte[] deleteRecord(Long id) {
+        checkWritable();
+        return encode(DELETE, id, new byte[0]);
+    }
+
+    /**
+     * Encola un registro y devuelve su ticket para await. Hay que llamarlo con el id
+     * bloqueado, para que el orden del log coincida con el de las escrituras en memoria,
+     * y después de aplicar el cambio en memoria: así el snapshot que se lanza al rotar
+     * ve todo lo que quedó en los segmentos anteriores. No falla; si el disco ya ha
+     * fallado, el registro no se escribe y await lo dice.
+     */
+    long append(byte[] record) {
+        lock.lock();
+        try {
+            if (failure == null) {
+                pending.writeBytes(record);
+                pendingRecords++;
+                hasPending.signal();
+            }
+            return ++appended;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Con sync-writes espera a que el registro indicado esté en disco.
+     */
+    void await(long ticket) {
+        if (!props.isSyncWrites()) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durable < ticket && failure == null) {
+                flushed.awaitUninterruptibly();
+            }
+            if (durable < ticket) {
+                throw new DataAccessResourceFailureException("The event journal failed before this write reached "
+                        + "the disk: it will be lost on restart and the store is read-only", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public Health health() {
+        lock.lock();
+        try {
+            if (failure != null) {
+                return Health.down(failure).withDetail("readOnly", true).build();
+            }
+            return Health.up().withDetail("durableRecords", durable).build();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        lock.lock();
+        try {
+            running = false;
+            hasPending.signal();
+        } finally {
+            lock.unlock();
+        }
+        if (writer != null) {
+            writer.join();
+        }
+        snapshots.shutdown();
+        snapshots.awaitTermination(1, TimeUnit.MINUTES);
+        if (segment != null) {
+            segment.close();
+        }
+    }
+
+    private void checkWritable() {
+        lock.lock();
+        try {
+            if (failure != null) {
+                throw new DataAccessResourceFailureException("The event journal failed: the store is read-only "
+                        + "until restart", failure);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            byte[] batch;
+            int records;
+            long target;
+            lock.lock();
+            try {
+                while (pendingRecords == 0 && running) {
+                    hasPending.awaitUninterruptibly();
+                }
+                if (pendingRecords == 0) {
+                    return;
+                }
+                if (!props.isSyncWrites() && running) {
+                    // Nadie espera al disco: se deja que el lote crezca un poco más
+                    hasPending.awaitNanos(TimeUnit.MILLISECONDS.toNanos(props.getFlushIntervalMillis()));
+                }
+                batch = pending.toByteArray();
+                records = pendingRecords;
+                target = appended;
+                pending = new ByteArrayOutputStream(Math.max(batch.length, 32));
+                pendingRecords = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            try {
+                writeFully(segment, batch);
+                segment.force(false);
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+
+            lock.lock();
+            try {
+                durable = target;
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+
+            // El lote ya está en disco: si falla abrir el segmento siguiente, falla lo que venga
+            segmentRecords += records;
+            if (segmentRecords >= props.getSnapshotEvery()) {
+                try {
+                    rotate();
+                } catch (IOException e) {
+                    fail(e);
+                    return;
+                }
+            }
+        }
+    }
+
+    private void fail(IOException e) {
+        log.error("Event journal write failed: the store is read-only until restart and writes not yet "
+                + "on disk will be lost", e);
+        lock.lock();
+        try {
+            failure = e;
+            flushed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cierra el segmento actual y lanza el snapshot en segundo plano. Todo lo que se
+     * escriba a partir de aquí va al segmento nuevo, así que snapshot + segmentos
+     * nuevos cubren el estado completo aunque el volcado se cruce con escrituras.
+     */
+    private void rotate() throws IOException {
+        segment.close();
+        segmentNumber++;
+        segment = openSegment(segmentNumber);
+        segmentRecords = 0;
+        long snapshot = segmentNumber;
+        snapshots.execute(() -> writeSnapshot(snapshot));
+    }
+
+    private void writeSnapshot(long number) {
+        Path target = directory.resolve(snapshotName(number));
+        Path tmp = directory.resolve(snapshotName(number) + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteArrayOutputStream chunk = new ByteArrayOutputStream(1 << 20);
+            for (Event event : repo.findAll()) {
+                chunk.writeBytes(encode(PUT, event.getId(), mapper.writeValueAsBytes(event)));
+                if (chunk.size() >= 1 << 20) {
+                    writeFully(out, chunk.toByteArray());
+                    chunk.reset();
+                }
+            }
+            writeFully(out, chunk.toByteArray());
+            out.force(true);
+        } catch (IOException e) {
+            log.error("Event journal snapshot {} failed, the log is kept", number, e);
+            return;
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+            for (long old : numbers(SNAPSHOT)) {
+                if (old < number) {
+                    Files.deleteIfExists(directory.resolve(snapshotName(old)));
+                }
+            }
+            for (long old : numbers(SEGMENT)) {
+                if (old < number) {
+                    Files.deleteIfExists(directory.resolve(segmentName(old)));
+                }
+            }
+        } catch (IOException e) {
+            log.error("Event journal snapshot {} could not replace older files", number, e);
+        }
+    }
+
+    private long replay(Path file) throws IOException {
+        long count = 0;
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            long position = 0;
+            long windowStart = 0;
+            MappedByteBuffer window = null;
+            while (position + 4 <= size) {
+                if (window == null || position + 4 > windowStart + window.limit()) {
+                    windowStart = position;
+                    window = in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position));
+                }
+                int length = window.getInt((int) (position - windowStart));
+                if (length < RECORD_OVERHEAD || position + 4 + length > size) {
+                    log.warn("Event journal {} ends with an incomplete record at offset {}", file, position);
+                    break;
+                }
+                if (position + 4 + length > windowStart + window.limit()) {
+                    windowStart = position;
+                    window = in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_WINDOW, size - position));
+                }
+                int offset = (int) (position - windowStart) + 4;
+                if (!apply(window, offset, length)) {
+                    log.warn("Event journal {} has a corrupt record at offset {}", file, position);
+                    break;
+                }
+                position += 4 + length;
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private boolean apply(ByteBuffer window, int offset, int length) throws IOException {
+        byte[] body = new byte[length - 4];
+        window.get(offset, body);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if ((int) crc.getValue() != window.getInt(offset + body.length)) {
+            return false;
+        }
+        ByteBuffer record = ByteBuffer.wrap(body);
+        byte op = record.get();
+        long id = record.getLong();
+        if (op == PUT) {
+            repo.restore(mapper.readValue(body, 9, body.length - 9, Event.class));
+        } else if (op == DELETE) {
+            repo.restoreDelete(id);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    private static byte[] encode(byte op, long id, byte[] payload) {
+        ByteBuffer record = ByteBuffer.allocate(4 + RECORD_OVERHEAD + payload.length);
+        record.putInt(RECORD_OVERHEAD + payload.length);
+        record.put(op);
+        record.putLong(id);
+        record.put(payload);
+        CRC32 crc = new CRC32();
+        crc.update(record.array(), 4, 1 + 8 + payload.length);
+        record.putInt((int) crc.getValue());
+        return record.array();
+    }
+
+    private static void writeFully(FileChannel out, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        return FileChannel.open(directory.resolve(segmentName(number)), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private long latest(Pattern pattern) throws IOException {
+        List<Long> found = numbers(pattern);
+        return found.isEmpty() ? -1 : found.get(found.size() - 1);
+    }
+
+    private List<Long> numbers(Pattern pattern) throws IOException {
+        List<Long> found = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(f -> {
+                Matcher m = pattern.matcher(f.getFileName().toString());
+                if (m.matches()) {
+                    found.add(Long.parseLong(m.group(1)));
+                }
+            });
+        }
+        found.sort(null);
+        return found;
+    }
+
+    private static String segmentName(long number) {
+        return "wal-" + number + ".log";
+    }
+
+    private static String snapshotName(long number) {
+        return "snapshot-" + number + ".dat";
+    }
+}
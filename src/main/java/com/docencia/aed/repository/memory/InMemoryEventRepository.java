@@ -3,70 +3,655 @@ package com.docencia.aed.repository.memory;
 import com.docencia.aed.entity.Event;
 import com.docencia.aed.entity.EventStatus;
 import com.docencia.aed.repository.EventRepository;
+import com.docencia.aed.repository.QueryMetrics;
+import com.docencia.aed.repository.QueryMetrics.Query;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 @Repository
-public class InMemoryEventRepository implements EventRepository {
+@Profile("!jdbc")
+public class InMemoryEventRepository implements EventRepository, InitializingBean {
+
+    private static final long ANY_VERSION = -1;
+    private static final long REJECTED = -1;
+    // remove: el id no existía
+    private static final long MISSING = -2;
+
+    // Clases de duración para las ventanas temporales (ver durationClass)
+    private static final int DURATION_CLASSES = 12;
+    private static final long SHORTEST_CLASS_SECONDS = 3600;
 
     private final ConcurrentHashMap<Long, Event> store = new ConcurrentHashMap<>();
     private final AtomicLong seq = new AtomicLong(0);
 
+    // Claves con las que está indexado cada id: al reescribir o borrar un evento dicen
+    // de qué índices hay que quitarlo, sin depender de la instancia guardada en store.
+    // Además, compute() sobre este mapa serializa las escrituras de un mismo id.
+    private final ConcurrentHashMap<Long, IndexKey> indexed = new ConcurrentHashMap<>();
+
+    // Índices: todos los eventos, por status, por creador y por (creador, status).
+    // Cada Bucket guarda los ids en orden (paginación por cursor) y por fecha de inicio,
+    // esto último separado por clase de duración (ver durationClass).
+    private final Bucket all = new Bucket();
+    private final Map<EventStatus, Bucket> byStatus = bucketsByStatus();
+    private final ConcurrentHashMap<String, CreatorIndex> byCreator = new ConcurrentHashMap<>();
+
+    // Búsqueda de texto sobre título y descripción
+    private final TextIndex text = new TextIndex();
+
+    // Log en disco, solo si app.store.journal.enabled=true
+    private final EventJournal journal;
+
+    private final QueryMetrics metrics;
+
+    public InMemoryEventRepository(MeterRegistry registry) {
+        this((EventJournal) null, registry);
+    }
+
+    @Autowired
+    public InMemoryEventRepository(ObjectProvider<EventJournal> journal, MeterRegistry registry) {
+        this(journal.getIfAvailable(), registry);
+    }
+
+    InMemoryEventRepository(EventJournal journal, MeterRegistry registry) {
+        this.journal = journal;
+        this.metrics = register(registry);
+    }
+
+    // Con el repositorio ya construido: recover le aplica lo que haya en disco
+    @Override
+    public void afterPropertiesSet() {
+        if (journal != null) {
+            journal.recover(this);
+        }
+    }
+
+    // Eventos por estado: cada índice lleva la cuenta, así leer el gauge no recorre nada
+    private QueryMetrics register(MeterRegistry registry) {
+        for (EventStatus status : EventStatus.values()) {
+            Gauge.builder("events.store.size", byStatus.get(status), Bucket::size).tag("status", status.name())
+                    .register(registry);
+        }
+        return new QueryMetrics(registry);
+    }
+
     @Override
     public Event save(Event event) {
+        long start = System.nanoTime();
+        assignId(event);
+        long ticket = put(event, ANY_VERSION, true, journal != null);
+        if (journal != null) {
+            journal.await(ticket);
+        }
+        metrics.write("save", start, 1);
+        return event;
+    }
+
+    @Override
+    public boolean saveIfVersion(Event event, long expectedVersion) {
+        long start = System.nanoTime();
+        long ticket = put(event, expectedVersion, true, journal != null);
+        if (ticket == REJECTED) {
+            metrics.write("save_if_version", start, 0);
+            return false;
+        }
+        if (journal != null) {
+            journal.await(ticket);
+        }
+        metrics.write("save_if_version", start, 1);
+        return true;
+    }
+
+    @Override
+    public List<Event> saveAll(List<Event> events) {
+        long start = System.nanoTime();
+        long last = 0;
+        for (Event event : events) {
+            assignId(event);
+            last = Math.max(last, put(event, ANY_VERSION, true, journal != null));
+        }
+        // Los registros se escriben en orden: basta con esperar al último
+        if (journal != null) {
+            journal.await(last);
+        }
+        metrics.write("save_all", start, events.size());
+        return events;
+    }
+
+    @Override
+    public boolean[] saveAllIfVersion(List<Event> events, long[] expectedVersions) {
+        long start = System.nanoTime();
+        boolean[] saved = new boolean[events.size()];
+        long last = 0;
+        for (int i = 0; i < saved.length; i++) {
+            long ticket = put(events.get(i), expectedVersions[i], true, journal != null);
+            saved[i] = ticket != REJECTED;
+            last = Math.max(last, ticket);
+        }
+        if (journal != null) {
+            journal.await(last);
+        }
+        metrics.write("save_all_if_version", start, saved.length);
+        return saved;
+    }
+
+    @Override
+    public Optional<Event> update(Long id, UnaryOperator<Event> change) {
+        long start = System.nanoTime();
+        Event[] saved = new Event[1];
+        long[] ticket = new long[1];
+        indexed.computeIfPresent(id, (k, previous) -> {
+            Event current = store.get(k);
+            Event event = change.apply(current);
+            event.setVersion(current.getVersion() + 1);
+            IndexKey key = IndexKey.of(event);
+            ticket[0] = write(k, event, previous, key, journal != null);
+            saved[0] = event;
+            return key;
+        });
+        if (journal != null && ticket[0] > 0) {
+            journal.await(ticket[0]);
+        }
+        metrics.write("update", start, saved[0] != null ? 1 : 0);
+        return Optional.ofNullable(saved[0]);
+    }
+
+    // Un id puesto a mano (p. ej. por el generador de datos) tampoco se vuelve a asignar
+    private void assignId(Event event) {
         if (event.getId() == null) {
             event.setId(seq.incrementAndGet());
+        } else if (event.getId() > seq.get()) {
+            seq.accumulateAndGet(event.getId(), Math::max);
         }
-        store.put(event.getId(), event);
-        return event;
+    }
+
+    /**
+     * Aplica un evento leído del log al arrancar: sin volver a registrarlo, con la
+     * versión que tenía y adelantando el generador de ids para no reutilizar los ya asignados.
+     */
+    void restore(Event event) {
+        seq.accumulateAndGet(event.getId(), Math::max);
+        put(event, ANY_VERSION, false, false);
+    }
+
+    void restoreDelete(Long id) {
+        remove(id, ANY_VERSION, false);
+    }
+
+    /**
+     * Escritura atómica por id: comprueba la versión esperada, asigna la siguiente,
+     * actualiza store e índices y la registra en el journal. La instancia que se guarda
+     * pasa a ser de solo lectura. Devuelve el ticket del journal (0 si no hay) o REJECTED.
+     */
+    private long put(Event event, long expectedVersion, boolean bumpVersion, boolean journaled) {
+        long[] ticket = new long[1];
+        IndexKey key = IndexKey.of(event);
+        indexed.compute(event.getId(), (id, previous) -> {
+            Event current = store.get(id);
+            long currentVersion = current != null ? current.getVersion() : 0;
+            if (expectedVersion != ANY_VERSION && currentVersion != expectedVersion) {
+                ticket[0] = REJECTED;
+                return previous;
+            }
+            if (bumpVersion) {
+                event.setVersion(currentVersion + 1);
+            }
+            ticket[0] = write(id, event, previous, key, journaled);
+            return key;
+        });
+        return ticket[0];
+    }
+
+    // El cuerpo común de put y update, siempre dentro del compute() de ese id
+    private long write(Long id, Event event, IndexKey previous, IndexKey key, boolean journaled) {
+        byte[] record = journaled ? journal.putRecord(event) : null;
+        store.put(id, event);
+        if (!key.sameIndexes(previous)) {
+            reindex(id, previous, key);
+        }
+        if (!key.sameText(previous)) {
+            text.update(id, key.title(), key.description());
+        }
+        return journaled ? journal.append(record) : 0;
     }
 
     @Override
     public Optional<Event> findById(Long id) {
-        return Optional.ofNullable(store.get(id));
+        Event event = store.get(id);
+        metrics.findById(event != null);
+        return Optional.ofNullable(event);
     }
 
     @Override
     public List<Event> findAll() {
-        return store.values().stream()
-                .sorted(Comparator.comparing(Event::getId))
-                .collect(Collectors.toList());
+        return findAllAfter(null, Integer.MAX_VALUE);
     }
 
     @Override
     public void deleteById(Long id) {
-        store.remove(id);
+        long start = System.nanoTime();
+        long ticket = remove(id, ANY_VERSION, journal != null);
+        if (journal != null && ticket > 0) {
+            journal.await(ticket);
+        }
+        metrics.write("delete", start, ticket == MISSING ? 0 : 1);
+    }
+
+    @Override
+    public boolean deleteByIdIfVersion(Long id, long expectedVersion) {
+        long start = System.nanoTime();
+        long ticket = remove(id, expectedVersion, journal != null);
+        if (ticket == REJECTED || ticket == MISSING) {
+            metrics.write("delete_if_version", start, 0);
+            return false;
+        }
+        if (journal != null && ticket > 0) {
+            journal.await(ticket);
+        }
+        metrics.write("delete_if_version", start, 1);
+        return true;
+    }
+
+    // Devuelve el ticket del journal (0 si no hay), REJECTED o MISSING
+    private long remove(Long id, long expectedVersion, boolean journaled) {
+        long[] ticket = {MISSING};
+        indexed.computeIfPresent(id, (k, previous) -> {
+            if (expectedVersion != ANY_VERSION && store.get(k).getVersion() != expectedVersion) {
+                ticket[0] = REJECTED;
+                return previous;
+            }
+            byte[] record = journaled ? journal.deleteRecord(k) : null;
+            ticket[0] = 0;
+            store.remove(k);
+            for (Bucket bucket : buckets(previous, false)) {
+                if (bucket != null) {
+                    bucket.remove(k, previous.startAt(), previous.durationClass());
+                }
+            }
+            text.remove(k);
+            if (journaled) {
+                ticket[0] = journal.append(record);
+            }
+            return null;
+        });
+        return ticket[0];
     }
 
     @Override
     public List<Event> findByStatus(EventStatus status) {
-        return store.values().stream()
-                .filter(e -> e.getStatus() == status)
-                .sorted(Comparator.comparing(Event::getId))
-                .collect(Collectors.toList());
+        return findByStatusAfter(status, null, Integer.MAX_VALUE);
     }
 
     @Override
     public List<Event> findByCreatedBy(String username) {
-        return store.values().stream()
-                .filter(e -> username != null && username.equals(e.getCreatedBy()))
-                .sorted(Comparator.comparing(Event::getId))
-                .collect(Collectors.toList());
+        return findByCreatedByAfter(username, null, Integer.MAX_VALUE);
     }
 
     @Override
     public List<Event> findByCreatedByAndStatus(String username, EventStatus status) {
-        return store.values().stream()
-                .filter(e -> username != null && username.equals(e.getCreatedBy()))
-                .filter(e -> e.getStatus() == status)
-                .sorted(Comparator.comparing(Event::getId))
-                .collect(Collectors.toList());
+        return findByCreatedByAndStatusAfter(username, status, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Event> findAllAfter(Long afterId, int limit) {
+        return resolve(Query.ALL, all.ids, afterId, limit, e -> true);
+    }
+
+    @Override
+    public List<Event> findByStatusAfter(EventStatus status, Long afterId, int limit) {
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        return resolve(Query.STATUS, byStatus.get(status).ids, afterId, limit, e -> e.getStatus() == status);
+    }
+
+    @Override
+    public List<Event> findByCreatedByAfter(String username, Long afterId, int limit) {
+        CreatorIndex creator = username != null ? byCreator.get(username) : null;
+        if (creator == null) {
+            return new ArrayList<>();
+        }
+        return resolve(Query.CREATOR, creator.all.ids, afterId, limit, e -> username.equals(e.getCreatedBy()));
+    }
+
+    @Override
+    public List<Event> findByCreatedByAndStatusAfter(String username, EventStatus status, Long afterId, int limit) {
+        CreatorIndex creator = username != null ? byCreator.get(username) : null;
+        if (creator == null || status == null) {
+            return new ArrayList<>();
+        }
+        return resolve(Query.CREATOR_STATUS, creator.byStatus.get(status).ids, afterId, limit,
+                e -> username.equals(e.getCreatedBy()) && e.getStatus() == status);
+    }
+
+    @Override
+    public List<Event> findAllBetween(Instant from, Instant to, int limit) {
+        return resolveWindow(Query.ALL_WINDOW, all, from, to, limit, e -> true);
+    }
+
+    @Override
+    public List<Event> findByStatusBetween(EventStatus status, Instant from, Instant to, int limit) {
+        if (status == null) {
+            return new ArrayList<>();
+        }
+        return resolveWindow(Query.STATUS_WINDOW, byStatus.get(status), from, to, limit, e -> e.getStatus() == status);
+    }
+
+    @Override
+    public List<Event> findByCreatedByBetween(String username, Instant from, Instant to, int limit) {
+        CreatorIndex creator = username != null ? byCreator.get(username) : null;
+        if (creator == null) {
+            return new ArrayList<>();
+        }
+        return resolveWindow(Query.CREATOR_WINDOW, creator.all, from, to, limit,
+                e -> username.equals(e.getCreatedBy()));
+    }
+
+    @Override
+    public List<Event> findByCreatedByAndStatusBetween(String username, EventStatus status, Instant from, Instant to,
+            int limit) {
+        CreatorIndex creator = username != null ? byCreator.get(username) : null;
+        if (creator == null || status == null) {
+            return new ArrayList<>();
+        }
+        return resolveWindow(Query.CREATOR_STATUS_WINDOW, creator.byStatus.get(status), from, to, limit,
+                e -> username.equals(e.getCreatedBy()) && e.getStatus() == status);
+    }
+
+    @Override
+    public List<Event> search(String query, EventStatus status, String createdBy, int limit) {
+        long start = System.nanoTime();
+        int scanned = 0;
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(text.score(query).entrySet());
+        long sortStart = System.nanoTime();
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        long sortNanos = System.nanoTime() - sortStart;
+        List<Event> result = new ArrayList<>();
+        for (Map.Entry<Long, Double> hit : ranked) {
+            if (result.size() >= limit) {
+                break;
+            }
+            scanned++;
+            Event event = store.get(hit.getKey());
+            if (event != null
+                    && (status == null || event.getStatus() == status)
+                    && (createdBy == null || createdBy.equals(event.getCreatedBy()))) {
+                result.add(event);
+            }
+        }
+        metrics.record(Query.SEARCH, start, scanned, result.size(), sortNanos);
+        return result;
+    }
+
+    /**
+     * Traduce los ids de un índice a eventos. Se vuelve a comprobar el filtro porque
+     * un lector puede cruzarse con una escritura que todavía está moviendo el id.
+     * Con {@code afterId} se empieza justo después del cursor, sin recorrer lo anterior.
+     */
+    private List<Event> resolve(Query query, NavigableSet<Long> index, Long afterId, int limit,
+            Predicate<Event> filter) {
+        long start = System.nanoTime();
+        int scanned = 0;
+        NavigableSet<Long> view = afterId != null ? index.tailSet(afterId, false) : index;
+        List<Event> result = new ArrayList<>();
+        for (Long id : view) {
+            if (result.size() >= limit) {
+                break;
+            }
+            scanned++;
+            Event event = store.get(id);
+            if (event != null && filter.test(event)) {
+                result.add(event);
+            }
+        }
+        metrics.record(query, start, scanned, result.size());
+        return result;
+    }
+
+    /**
+     * Eventos que se solapan con [from, to), en orden de startAt. Cada clase de duración
+     * se recorre por fecha de inicio desde {@code from - duración máxima de la clase}, así
+     * que también salen los que empezaron antes de la ventana y siguen en curso, y lo que
+     * se mira de más es como mucho una clase de eventos que ya habían terminado: un evento
+     * de un año solo alarga el recorrido de los de su clase. Las clases se mezclan en
+     * orden de startAt hasta juntar {@code limit}.
+     */
+    private List<Event> resolveWindow(Query query, Bucket bucket, Instant from, Instant to, int limit,
+            Predicate<Event> filter) {
+        long start = System.nanoTime();
+        int scanned = 0;
+        PriorityQueue<WindowCursor> cursors = new PriorityQueue<>();
+        for (int durationClass = 0; durationClass < DURATION_CLASSES; durationClass++) {
+            NavigableSet<TimeKey> view = bucket.byStart.get(durationClass);
+            if (view == null) {
+                continue;
+            }
+            if (from != null && durationClass < DURATION_CLASSES - 1) {
+                Instant lowerBound = from.minusSeconds(classMaxSeconds(durationClass));
+                view = view.tailSet(new TimeKey(lowerBound, Long.MIN_VALUE), true);
+            }
+            if (to != null) {
+                view = view.headSet(new TimeKey(to, Long.MIN_VALUE), false);
+            }
+            Iterator<TimeKey> keys = view.iterator();
+            if (keys.hasNext()) {
+                cursors.add(new WindowCursor(keys.next(), keys));
+            }
+        }
+        List<Event> result = new ArrayList<>();
+        while (!cursors.isEmpty() && result.size() < limit) {
+            WindowCursor cursor = cursors.poll();
+            scanned++;
+            Event event = store.get(cursor.key.id());
+            if (event != null && filter.test(event) && overlaps(event, from, to)) {
+                result.add(event);
+            }
+            if (cursor.keys.hasNext()) {
+                cursor.key = cursor.keys.next();
+                cursors.add(cursor);
+            }
+        }
+        metrics.record(query, start, scanned, result.size());
+        return result;
+    }
+
+    /**
+     * Clase de duración (endAt - startAt): la 0 hasta una hora y cada una cuatro veces
+     * la anterior (4 h, 16 h, 2,7 días, 10,7 días, 43 días, 171 días, 1,9 años...). La
+     * última, a partir de unos 120 años, no tiene tope. Sin endAt cuenta como duración 0.
+     */
+    static int durationClass(Instant startAt, Instant endAt) {
+        if (startAt == null || endAt == null) {
+            return 0;
+        }
+        long seconds = Duration.between(startAt, endAt).getSeconds();
+        int durationClass = 0;
+        while (durationClass < DURATION_CLASSES - 1 && seconds > classMaxSeconds(durationClass)) {
+            durationClass++;
+        }
+        return durationClass;
+    }
+
+    private static long classMaxSeconds(int durationClass) {
+        return SHORTEST_CLASS_SECONDS << (2 * durationClass);
+    }
+
+    private static boolean overlaps(Event event, Instant from, Instant to) {
+        Instant start = event.getStartAt();
+        if (start == null) {
+            return false;
+        }
+        Instant end = event.getEndAt() != null ? event.getEndAt() : start;
+        return (to == null || start.isBefore(to)) && (from == null || !end.isBefore(from));
+    }
+
+    /**
+     * Mueve el id de los índices de la clave anterior a los de la nueva. Se añade antes
+     * de quitar para que un lector concurrente no deje de ver el evento a mitad del cambio.
+     */
+    private void reindex(Long id, IndexKey previous, IndexKey key) {
+        Bucket[] before = buckets(previous, false);
+        Bucket[] after = buckets(key, true);
+        Instant previousStart = previous != null ? previous.startAt() : null;
+        int previousClass = previous != null ? previous.durationClass() : 0;
+        int durationClass = key.durationClass();
+        boolean timeMoved = !Objects.equals(previousStart, key.startAt()) || previousClass != durationClass;
+        for (int i = 0; i < after.length; i++) {
+            if (after[i] != null) {
+                after[i].add(id, key.startAt(), durationClass);
+            }
+            if (before[i] == null) {
+                continue;
+            }
+            if (before[i] != after[i]) {
+                before[i].remove(id, previousStart, previousClass);
+            } else if (timeMoved) {
+                before[i].removeStart(id, previousStart, previousClass);
+            }
+        }
+    }
+
+    /**
+     * Índices en los que debe estar un evento con esta clave, siempre en el mismo orden:
+     * todos, status, creador y (creador, status). Las posiciones que no aplican van a null.
+     */
+    private Bucket[] buckets(IndexKey key, boolean create) {
+        Bucket[] buckets = new Bucket[4];
+        if (key == null) {
+            return buckets;
+        }
+        CreatorIndex creator = null;
+        if (key.createdBy() != null) {
+            creator = create ? byCreator.computeIfAbsent(key.createdBy(), c -> new CreatorIndex())
+                    : byCreator.get(key.createdBy());
+        }
+        buckets[0] = all;
+        buckets[1] = key.status() != null ? byStatus.get(key.status()) : null;
+        buckets[2] = creator != null ? creator.all : null;
+        buckets[3] = creator != null && key.status() != null ? creator.byStatus.get(key.status()) : null;
+        return buckets;
+    }
+
+    private static Map<EventStatus, Bucket> bucketsByStatus() {
+        Map<EventStatus, Bucket> buckets = new EnumMap<>(EventStatus.class);
+        for (EventStatus status : EventStatus.values()) {
+            buckets.put(status, new Bucket());
+        }
+        return buckets;
+    }
+
+    private record IndexKey(EventStatus status, String createdBy, Instant startAt, Instant endAt,
+            String title, String description) {
+        static IndexKey of(Event event) {
+            return new IndexKey(event.getStatus(), event.getCreatedBy(), event.getStartAt(), event.getEndAt(),
+                    event.getTitle(), event.getDescription());
+        }
+
+        boolean sameIndexes(IndexKey other) {
+            return other != null && status == other.status && Objects.equals(createdBy, other.createdBy)
+                    && Objects.equals(startAt, other.startAt) && Objects.equals(endAt, other.endAt);
+        }
+
+        boolean sameText(IndexKey other) {
+            return other != null && Objects.equals(title, other.title)
+                    && Objects.equals(description, other.description);
+        }
+
+        int durationClass() {
+            return InMemoryEventRepository.durationClass(startAt, endAt);
+        }
+    }
+
+    private record TimeKey(Instant startAt, long id) {
+    }
+
+    // Posición de resolveWindow en una clase de duración: la siguiente clave sin devolver
+    private static final class WindowCursor implements Comparable<WindowCursor> {
+        private TimeKey key;
+        private final Iterator<TimeKey> keys;
+
+        private WindowCursor(TimeKey key, Iterator<TimeKey> keys) {
+            this.key = key;
+            this.keys = keys;
+        }
+
+        @Override
+        public int compareTo(WindowCursor other) {
+            return BY_START.compare(key, other.key);
+        }
+    }
+
+    private static final Comparator<TimeKey> BY_START = Comparator.comparing(TimeKey::startAt)
+            .thenComparingLong(TimeKey::id);
+
+    private static final class Bucket {
+        private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+        // Por fecha de inicio, un conjunto por clase de duración; se crean al usarse
+        private final AtomicReferenceArray<NavigableSet<TimeKey>> byStart =
+                new AtomicReferenceArray<>(DURATION_CLASSES);
+        // ids.size() recorre todo el conjunto
+        private final LongAdder size = new LongAdder();
+
+        private void add(Long id, Instant startAt, int durationClass) {
+            if (ids.add(id)) {
+                size.increment();
+            }
+            if (startAt != null) {
+                NavigableSet<TimeKey> keys = byStart.get(durationClass);
+                if (keys == null) {
+                    byStart.compareAndSet(durationClass, null, new ConcurrentSkipListSet<>(BY_START));
+                    keys = byStart.get(durationClass);
+                }
+                keys.add(new TimeKey(startAt, id));
+            }
+        }
+
+        private void remove(Long id, Instant startAt, int durationClass) {
+            if (ids.remove(id)) {
+                size.decrement();
+            }
+            removeStart(id, startAt, durationClass);
+        }
+
+        private long size() {
+            return size.sum();
+        }
+
+        private void removeStart(Long id, Instant startAt, int durationClass) {
+            NavigableSet<TimeKey> keys = byStart.get(durationClass);
+            if (startAt != null && keys != null) {
+                keys.remove(new TimeKey(startAt, id));
+            }
+        }
+    }
+
+    private static final class CreatorIndex {
+        private final Bucket all = new Bucket();
+        private final Map<EventStatus, Bucket> byStatus = bucketsByStatus();
     }
 }
@@ -2,27 +2,97 @@ package com.docencia.aed.repository.memory;
 
 import com.docencia.aed.entity.Event;
 import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.persistence.StoreProperties;
 import com.docencia.aed.repository.EventRepository;
-import org.springframework.boot.CommandLineRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
- * Inserta datos de ejemplo en la "BBDD" en memoria.
+ * Inserta datos de ejemplo en la "BBDD" en memoria: los cuatro eventos de siempre o,
+ * con app.store.seed.events > 0, ese número de eventos sintéticos (SyntheticEvents).
+ * Se hace antes de que arranque el servidor web: ninguna petición ve el store a medias
+ * ni crea eventos con ids que el generador todavía va a usar.
  */
 @Component
-public class SeedData implements CommandLineRunner {
+public class SeedData implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(SeedData.class);
+    private static final int CHUNK = 10_000;
 
     private final EventRepository repo;
+    private final StoreProperties.Seed props;
 
-    public SeedData(EventRepository repo) {
+    public SeedData(EventRepository repo, StoreProperties storeProperties) {
         this.repo = repo;
+        this.props = storeProperties.getSeed();
     }
 
     @Override
-    public void run(String... args) {
+    public void afterSingletonsInstantiated() {
+        // Si el store se ha recuperado del journal (o es la base de datos del perfil jdbc) ya tiene datos: no se siembra
+        if (!repo.findAllAfter(null, 1).isEmpty()) {
+            return;
+        }
+        if (props.getEvents() > 0) {
+            generate();
+        } else {
+            examples();
+        }
+    }
+
+    /**
+     * Ids 1..events en bloques contiguos, cada bloque en un hilo y guardado con saveAll.
+     * Los ids se ponen aquí y no en el repositorio para que no dependan del reparto.
+     */
+    private void generate() {
+        SyntheticEvents synthetic = new SyntheticEvents(props);
+        int events = props.getEvents();
+        int threads = props.getThreads() > 0 ? props.getThreads() : Runtime.getRuntime().availableProcessors();
+        long start = System.nanoTime();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 1; from <= events; from += CHUNK) {
+                int first = from;
+                int last = Math.min(events, from + CHUNK - 1);
+                chunks.add(pool.submit((Callable<Void>) () -> {
+                    List<Event> batch = new ArrayList<>(last - first + 1);
+                    for (long id = first; id <= last; id++) {
+                        batch.add(synthetic.event(id));
+                    }
+                    repo.saveAll(batch);
+                    return null;
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while seeding the event store", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not seed the event store", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        log.info("Seeded {} synthetic events (seed {}) with {} threads in {} ms", events, props.getRandomSeed(),
+                threads, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void examples() {
         Instant now = Instant.now();
 
         Event approved = new Event();
@@ -0,0 +1,138 @@
+package com.docencia.aed.repository.memory;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.persistence.StoreProperties;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Eventos sintéticos deterministas: el evento con un id dado depende solo de la
+ * semilla y de ese id, no del orden ni del hilo en que se genere. Así se puede
+ * generar en paralelo y dos arranques con la misma configuración dan el mismo store.
+ */
+public class SyntheticEvents {
+
+    private static final String[] WORDS = {
+            "concierto", "música", "teatro", "taller", "charla", "exposición", "feria", "mercado",
+            "cine", "danza", "lectura", "poesía", "jazz", "rock", "clásica", "infantil",
+            "familia", "jornada", "congreso", "encuentro", "festival", "ruta", "visita", "museo",
+            "biblioteca", "parque", "plaza", "auditorio", "centro", "cultural", "deporte", "carrera",
+            "maratón", "torneo", "ajedrez", "fotografía", "pintura", "escultura", "artesanía", "gastronomía",
+            "vino", "cocina", "degustación", "ciencia", "tecnología", "programación", "robótica", "astronomía",
+            "naturaleza", "montaña", "playa", "río", "otoño", "invierno", "primavera", "verano",
+            "noche", "mañana", "tarde", "gratuito", "abierto", "público", "inscripción", "aforo"};
+    private static final String[] REASONS = {
+            "Faltan datos.", "Fecha no disponible.", "Duplicado.", "Descripción insuficiente."};
+
+    private final StoreProperties.Seed props;
+    private final EventStatus[] statuses;
+    private final int[] cumulativeWeights;
+    private final long spreadSeconds;
+    private final long maxDurationSeconds;
+
+    public SyntheticEvents(StoreProperties.Seed props) {
+        this.props = props;
+        List<EventStatus> weighted = new ArrayList<>();
+        List<Integer> cumulative = new ArrayList<>();
+        int total = 0;
+        for (Map.Entry<EventStatus, Integer> entry : props.getStatusWeights().entrySet()) {
+            if (entry.getValue() != null && entry.getValue() > 0) {
+                total += entry.getValue();
+                weighted.add(entry.getKey());
+                cumulative.add(total);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("At least one status weight must be greater than zero");
+        }
+        if (props.getCreators() < 1) {
+            throw new IllegalArgumentException("The number of creators must be greater than zero");
+        }
+        this.statuses = weighted.toArray(EventStatus[]::new);
+        this.cumulativeWeights = cumulative.stream().mapToInt(Integer::intValue).toArray();
+        this.spreadSeconds = Math.max(1, Duration.ofDays(props.getSpreadDays()).toSeconds());
+        this.maxDurationSeconds = Duration.ofHours(props.getMaxDurationHours()).toSeconds();
+    }
+
+    public Event event(long id) {
+        // Cada id tiene su propia secuencia aleatoria
+        SplittableRandom random = new SplittableRandom(props.getRandomSeed() * 0x9E3779B97F4A7C15L + id);
+
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle(capitalize(words(random, 2 + random.nextInt(3))));
+        event.setDescription(description(random));
+        event.setStartAt(props.getStartFrom().plusSeconds(random.nextLong(spreadSeconds)));
+        if (maxDurationSeconds > 0) {
+            event.setEndAt(event.getStartAt().plusSeconds(random.nextLong(maxDurationSeconds + 1)));
+        }
+        event.setCreatedBy(props.getCreatorPrefix() + random.nextInt(props.getCreators()));
+        event.setCreatedAt(event.getStartAt().minus(Duration.ofDays(1 + random.nextInt(30))));
+        event.setUpdatedAt(event.getCreatedAt());
+
+        EventStatus status = status(random);
+        event.setStatus(status);
+        if (status == EventStatus.APPROVED) {
+            event.setApprovedBy("admin");
+            event.setApprovedAt(event.getCreatedAt().plus(Duration.ofHours(1 + random.nextInt(48))));
+            event.setUpdatedAt(event.getApprovedAt());
+        } else if (status == EventStatus.REJECTED) {
+            event.setRejectionReason(REASONS[random.nextInt(REASONS.length)]);
+        }
+        return event;
+    }
+
+    private EventStatus status(SplittableRandom random) {
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < statuses.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return statuses[i];
+            }
+        }
+        return statuses[statuses.length - 1];
+    }
+
+    /**
+     * Longitud con distribución exponencial de media descriptionMeanLength, entre el
+     * mínimo y el máximo: muchas descripciones cortas y unas pocas muy largas.
+     */
+    private String description(SplittableRandom random) {
+        int min = props.getDescriptionMinLength();
+        int max = Math.max(min, props.getDescriptionMaxLength());
+        double extra = -Math.log(1 - random.nextDouble()) * Math.max(0, props.getDescriptionMeanLength() - min);
+        int length = (int) Math.min(max, min + Math.round(extra));
+        if (length == 0) {
+            return null;
+        }
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            if (text.length() > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        text.setLength(length);
+        return capitalize(text.toString().strip());
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+}
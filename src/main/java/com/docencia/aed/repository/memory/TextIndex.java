@@ -0,0 +1,119 @@
+package com.docencia.aed.repository.memory;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido sobre título y descripción: término normalizado → (id → peso).
+ * Las palabras del título pesan más que las de la descripción. Las escrituras de un
+ * mismo id deben llegar serializadas (el repositorio las hace dentro de su compute()).
+ */
+public final class TextIndex {
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    // Palabras demasiado frecuentes en español como para servir de algo al buscar
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "al", "con", "de", "del", "el", "en", "es", "la", "las", "lo", "los", "o",
+            "para", "por", "que", "se", "su", "sus", "un", "una", "unos", "unas", "y");
+
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Long, Integer>> postings = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Map<String, Integer>> termsById = new ConcurrentHashMap<>();
+
+    void update(Long id, String title, String description) {
+        Map<String, Integer> terms = new HashMap<>();
+        addTerms(terms, title, TITLE_WEIGHT);
+        addTerms(terms, description, DESCRIPTION_WEIGHT);
+
+        Map<String, Integer> previous = termsById.put(id, terms);
+        if (previous != null) {
+            for (String term : previous.keySet()) {
+                if (!terms.containsKey(term)) {
+                    removePosting(term, id);
+                }
+            }
+        }
+        terms.forEach((term, weight) -> postings.compute(term, (t, ids) -> {
+            ConcurrentHashMap<Long, Integer> updated = ids != null ? ids : new ConcurrentHashMap<>();
+            updated.put(id, weight);
+            return updated;
+        }));
+    }
+
+    void remove(Long id) {
+        Map<String, Integer> previous = termsById.remove(id);
+        if (previous != null) {
+            for (String term : previous.keySet()) {
+                removePosting(term, id);
+            }
+        }
+    }
+
+    /**
+     * Puntuación por id para la consulta: suma, por cada término, del peso en el
+     * documento por un idf sencillo, para que los términos raros cuenten más.
+     */
+    Map<Long, Double> score(String query) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documents = Math.max(termsById.size(), 1);
+        for (String term : tokenize(query)) {
+            Map<Long, Integer> matches = postings.get(term);
+            if (matches == null || matches.isEmpty()) {
+                continue;
+            }
+            double idf = Math.log(1.0 + (double) documents / matches.size());
+            matches.forEach((id, weight) -> scores.merge(id, weight * idf, Double::sum));
+        }
+        return scores;
+    }
+
+    /**
+     * Términos distintos de una consulta, en el orden en que aparecen.
+     */
+    public static List<String> tokenize(String text) {
+        return new ArrayList<>(new LinkedHashSet<>(words(text)));
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String word : words(text)) {
+            terms.merge(word, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Minúsculas, sin tildes ni diéresis ("Canción" → "cancion") y sin palabras vacías.
+     */
+    private static List<String> words(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty() && !STOPWORDS.contains(token)) {
+                words.add(token);
+            }
+        }
+        return words;
+    }
+
+    private void removePosting(String term, Long id) {
+        postings.computeIfPresent(term, (t, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
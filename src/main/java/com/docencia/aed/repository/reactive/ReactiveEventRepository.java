@@ -0,0 +1,66 @@
+package com.docencia.aed.repository.reactive;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.reactive.ReactiveProperties;
+import com.docencia.aed.repository.EventRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Lecturas de EventRepository como Flux/Mono. Los listados se piden al repositorio
+ * por lotes a medida que el suscriptor los demanda, así que un cliente lento no
+ * obliga a tener en memoria todos los eventos.
+ *
+ * El repositorio en memoria no bloquea y se lee en el propio event loop; si se usa
+ * uno que bloquea hay que activar app.reactive.offload-reads para que las lecturas
+ * vayan a boundedElastic.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.reactive", name = "enabled", havingValue = "true")
+public class ReactiveEventRepository {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final EventRepository repo;
+    private final Scheduler scheduler;
+
+    public ReactiveEventRepository(EventRepository repo, ReactiveProperties props) {
+        this.repo = repo;
+        this.scheduler = props.isOffloadReads() ? Schedulers.boundedElastic() : Schedulers.immediate();
+    }
+
+    public Flux<Event> findByStatus(EventStatus status) {
+        return Flux.<List<Event>, Long>generate(() -> 0L, (cursor, sink) -> {
+            List<Event> batch = repo.findByStatusAfter(status, cursor == 0 ? null : cursor, BATCH_SIZE);
+            if (batch.isEmpty()) {
+                sink.complete();
+                return cursor;
+            }
+            sink.next(batch);
+            if (batch.size() < BATCH_SIZE) {
+                sink.complete();
+            }
+            return batch.get(batch.size() - 1).getId();
+        })
+                // Un lote de margen: el siguiente solo se lee cuando el anterior se ha consumido
+                .concatMapIterable(Function.identity(), 1)
+                .subscribeOn(scheduler);
+    }
+
+    /**
+     * Cualquier otra lectura (a través del servicio o del repositorio), en el mismo
+     * planificador que los listados.
+     */
+    public <T> Mono<T> read(Supplier<T> read) {
+        return Mono.fromSupplier(read).subscribeOn(scheduler);
+    }
+}
@@ -1,28 +1,78 @@
 package com.docencia.aed.service;
 
+import com.docencia.aed.domain.BatchItemResult;
+import com.docencia.aed.domain.CachedJson;
 import com.docencia.aed.domain.EventCreateRequest;
+import com.docencia.aed.domain.EventPage;
 import com.docencia.aed.domain.EventPatchRequest;
 import com.docencia.aed.entity.Event;
 import com.docencia.aed.entity.EventStatus;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface EventService {
 
     // v1
     List<Event> listPublicApproved();
     Event getPublicApprovedById(Long id);
+    // Las mismas respuestas ya serializadas, con ETag, para servirlas sin pasar por Jackson
+    CachedJson listPublicApprovedJson();
+    CachedJson getPublicApprovedJson(Long id);
+    EventPage listPublicApprovedPage(Long afterId, Integer limit);
+    List<Event> listPublicApprovedBetween(Instant from, Instant to, Integer limit);
+    List<Event> searchPublicApproved(String query, Integer limit);
 
     // v2
     List<Event> listV2(String requestingUser, boolean isAdmin, EventStatus statusFilterOrNull);
     Event getV2ById(String requestingUser, boolean isAdmin, Long id);
+    EventPage listV2Page(String requestingUser, boolean isAdmin, EventStatus statusFilterOrNull, Long afterId,
+            Integer limit);
+    // Recorre los mismos eventos que listV2 por lotes, sin cargar la lista completa
+    Stream<Event> streamV2(String requestingUser, boolean isAdmin, EventStatus statusFilterOrNull);
+    // Feed SSE de cambios visibles para el usuario, desde lastEventId (null = solo los nuevos)
+    SseEmitter changes(String requestingUser, boolean isAdmin, Long lastEventId);
+    List<Event> listV2Between(String requestingUser, boolean isAdmin, EventStatus statusFilterOrNull, Instant from,
+            Instant to, Integer limit);
+    List<Event> searchV2(String requestingUser, boolean isAdmin, EventStatus statusFilterOrNull, String query,
+            Integer limit);
 
     Event create(String requestingUser, boolean isAdmin, EventCreateRequest req);
-    Event patch(String requestingUser, boolean isAdmin, Long id, EventPatchRequest req);
 
-    Event submitForApproval(String requestingUser, boolean isAdmin, Long id);
-    Event approve(String requestingUser, boolean isAdmin, Long id);
-    Event reject(String requestingUser, boolean isAdmin, Long id, String reason);
+    // Las escrituras aceptan la versión esperada del evento (If-Match); null = sin comprobar
+    Event patch(String requestingUser, boolean isAdmin, Long id, EventPatchRequest req, Long expectedVersion);
 
-    void delete(String requestingUser, boolean isAdmin, Long id);
+    Event submitForApproval(String requestingUser, boolean isAdmin, Long id, Long expectedVersion);
+    Event approve(String requestingUser, boolean isAdmin, Long id, Long expectedVersion);
+    Event reject(String requestingUser, boolean isAdmin, Long id, String reason, Long expectedVersion);
+
+    void delete(String requestingUser, boolean isAdmin, Long id, Long expectedVersion);
+
+    // Lotes: mismas reglas que las operaciones sueltas, un resultado por elemento y en el mismo orden
+    List<BatchItemResult> createBatch(String requestingUser, boolean isAdmin, List<EventCreateRequest> reqs);
+    List<BatchItemResult> submitBatch(String requestingUser, boolean isAdmin, List<Long> ids);
+    List<BatchItemResult> approveBatch(String requestingUser, boolean isAdmin, List<Long> ids);
+    List<BatchItemResult> rejectBatch(String requestingUser, boolean isAdmin, List<Long> ids, String reason);
+
+    default Event patch(String requestingUser, boolean isAdmin, Long id, EventPatchRequest req) {
+        return patch(requestingUser, isAdmin, id, req, null);
+    }
+
+    default Event submitForApproval(String requestingUser, boolean isAdmin, Long id) {
+        return submitForApproval(requestingUser, isAdmin, id, null);
+    }
+
+    default Event approve(String requestingUser, boolean isAdmin, Long id) {
+        return approve(requestingUser, isAdmin, id, null);
+    }
+
+    default Event reject(String requestingUser, boolean isAdmin, Long id, String reason) {
+        return reject(requestingUser, isAdmin, id, reason, null);
+    }
+
+    default void delete(String requestingUser, boolean isAdmin, Long id) {
+        delete(requestingUser, isAdmin, id, null);
+    }
 }
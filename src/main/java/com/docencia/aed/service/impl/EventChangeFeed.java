@@ -0,0 +1,300 @@
+package com.docencia.aed.service.impl;
+
+import com.docencia.aed.domain.EventChange;
+import com.docencia.aed.domain.EventChangeType;
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.feed.ChangeFeedProperties;
+import com.docencia.aed.infrastructure.threads.BackgroundThreads;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feed de cambios de eventos para /api/v2/events/changes.
+ *
+ * Los cambios se guardan en un buffer circular de tamaño fijo con números de
+ * secuencia consecutivos, que son el id de cada mensaje SSE: un cliente que se
+ * reconecta con Last-Event-ID recibe lo que se perdió si sigue en el buffer, y un
+ * mensaje "reset" si ya se ha sobrescrito (tiene que volver a pedir el listado).
+ *
+ * Se publica después de escribir en el repositorio, así que dos escrituras del mismo
+ * evento pueden llegar aquí en otro orden: la que trae una versión que ya se ha
+ * superado se descarta, y tras un borrado ya no se publica nada más de ese id. Lo que
+ * se ve de cada evento es, por tanto, una secuencia de versiones crecientes, pero no
+ * necesariamente todas: si el alta llega detrás de la primera modificación, el primer
+ * mensaje de ese id es un updated (o submitted...). Los clientes tratan cualquier
+ * cambio de un id que no tenían como un alta.
+ *
+ * Las conexiones son asíncronas (SseEmitter) y no tienen hilo propio: al publicar
+ * se encola, como mucho una vez por suscriptor, una tarea en un pool pequeño que
+ * le envía todo lo pendiente desde su cursor.
+ */
+@Component
+public class EventChangeFeed implements DisposableBean {
+
+    private static final int DRAIN_BATCH = 256;
+    private static final long DELETED = Long.MAX_VALUE;
+
+    // Serializa un EventChange sin sequence: el resto se prepara fuera del monitor
+    private final ObjectWriter bodyWriter;
+    private final long timeoutMillis;
+    private final Entry[] ring;
+    // Última secuencia publicada; se escribe dentro de synchronized y se lee sin bloquear
+    private volatile long head;
+    // Última versión publicada de cada evento que sigue en el buffer (DELETED: borrado)
+    private final Map<Long, Long> published = new HashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Executor dispatcher;
+    private final ScheduledExecutorService heartbeats;
+
+    public EventChangeFeed(ObjectMapper mapper, ChangeFeedProperties props, BackgroundThreads threads) {
+        this.bodyWriter = mapper.copy().addMixIn(EventChange.class, WithoutSequence.class)
+                .writerFor(EventChange.class);
+        this.timeoutMillis = props.getTimeoutMillis();
+        this.ring = new Entry[props.getCapacity()];
+        // Con hilos virtuales cada envío va en su propio hilo y un cliente lento no retrasa a los demás
+        this.dispatcher = threads.executor("event-changes", props.getDispatchThreads());
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "event-changes-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        heartbeats.scheduleAtFixedRate(this::heartbeat, props.getHeartbeatMillis(), props.getHeartbeatMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Publica un cambio (before == null al crear, after == null al borrar).
+     */
+    void publish(Event before, Event after) {
+        Event source = after != null ? after : before;
+        EventChangeType type = typeOf(before, after);
+        long version = after != null ? after.getVersion() : DELETED;
+        EventChange unsequenced = new EventChange(0, type, source.getId(), source.getVersion(),
+                after != null ? after.getStatus() : null, source.getCreatedBy(), after);
+        // Se serializa una sola vez, aunque lo reciban muchos suscriptores, y sin el monitor:
+        // dentro solo se antepone la secuencia
+        String body = serialize(unsequenced);
+        synchronized (this) {
+            Long last = published.get(source.getId());
+            if (last != null && version <= last) {
+                return;
+            }
+            long sequence = head + 1;
+            EventChange change = new EventChange(sequence, type, source.getId(), source.getVersion(),
+                    unsequenced.getStatus(), source.getCreatedBy(), after);
+            Entry overwritten = ring[slot(sequence)];
+            if (overwritten != null) {
+                // Sale del buffer: si era lo último de su evento, se deja de recordar
+                published.remove(overwritten.change().getEventId(), overwritten.version());
+            }
+            ring[slot(sequence)] = new Entry(change, "{\"sequence\":" + sequence + "," + body.substring(1),
+                    version);
+            published.put(source.getId(), version);
+            head = sequence;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.schedule();
+        }
+    }
+
+    /**
+     * Nueva suscripción. Sin lastEventId empieza por los cambios que lleguen a partir
+     * de ahora; con él, por los posteriores a esa secuencia. Un lastEventId por delante
+     * de lo publicado viene de antes de un reinicio (la secuencia vuelve a empezar): no
+     * se sabe qué se ha perdido y recibe un reset, igual que si se hubiera sobrescrito.
+     */
+    SseEmitter subscribe(String requestingUser, boolean isAdmin, Long lastEventId) {
+        return subscribe(new SseEmitter(timeoutMillis), requestingUser, isAdmin, lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String requestingUser, boolean isAdmin, Long lastEventId) {
+        long current = head;
+        boolean unknown = lastEventId != null && lastEventId > current;
+        long start = lastEventId != null && !unknown ? Math.max(lastEventId, 0) : current;
+        Subscriber subscriber = new Subscriber(emitter, requestingUser, isAdmin, start, unknown);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        subscriber.schedule();
+        return emitter;
+    }
+
+    @Override
+    public void destroy() {
+        heartbeats.shutdownNow();
+        BackgroundThreads.shutdown(dispatcher);
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        subscribers.clear();
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            subscriber.schedule();
+        }
+    }
+
+    /**
+     * Hasta {@code max} entradas con secuencia mayor que {@code after}. Si alguna ya
+     * se ha sobrescrito, la lista empieza por null seguida de lo que aún queda.
+     */
+    private synchronized List<Entry> read(long after, int max) {
+        long oldest = Math.max(head - ring.length + 1, 1);
+        List<Entry> entries = new ArrayList<>();
+        if (after + 1 < oldest) {
+            entries.add(null);
+            after = oldest - 1;
+        }
+        for (long sequence = after + 1; sequence <= head && entries.size() < max; sequence++) {
+            entries.add(ring[slot(sequence)]);
+        }
+        return entries;
+    }
+
+    private int slot(long sequence) {
+        return (int) (sequence % ring.length);
+    }
+
+    private static EventChangeType typeOf(Event before, Event after) {
+        if (before == null) {
+            return EventChangeType.CREATED;
+        }
+        if (after == null) {
+            return EventChangeType.DELETED;
+        }
+        if (before.getStatus() != after.getStatus()) {
+            if (after.getStatus() == EventStatus.PENDING_APPROVAL) {
+                return EventChangeType.SUBMITTED;
+            }
+            if (after.getStatus() == EventStatus.APPROVED) {
+                return EventChangeType.APPROVED;
+            }
+            if (after.getStatus() == EventStatus.REJECTED) {
+                return EventChangeType.REJECTED;
+            }
+        }
+        return EventChangeType.UPDATED;
+    }
+
+    private String serialize(EventChange change) {
+        try {
+            return bodyWriter.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Entry(EventChange change, String json, long version) {
+    }
+
+    @JsonIgnoreProperties("sequence")
+    private abstract static class WithoutSequence {
+    }
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final String user;
+        private final boolean isAdmin;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // Solo lo toca la tarea en curso: nunca hay dos a la vez para el mismo suscriptor
+        private long cursor;
+        private volatile boolean heartbeatDue;
+        // Como cursor: solo lo toca la tarea en curso
+        private boolean resetDue;
+
+        Subscriber(SseEmitter emitter, String user, boolean isAdmin, long cursor, boolean resetDue) {
+            this.emitter = emitter;
+            this.user = user;
+            this.isAdmin = isAdmin;
+            this.cursor = cursor;
+            this.resetDue = resetDue;
+        }
+
+        void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    dispatcher.execute(this);
+                } catch (RuntimeException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                drain();
+            } catch (IOException | RuntimeException e) {
+                // Cliente desconectado: el contenedor ya cierra la petición asíncrona por su cuenta
+                subscribers.remove(this);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            // Lo publicado mientras se vaciaba no habría encolado otra tarea
+            if (cursor < head && subscribers.contains(this)) {
+                schedule();
+            }
+        }
+
+        private void drain() throws IOException {
+            boolean sent = false;
+            if (resetDue) {
+                reset();
+                resetDue = false;
+                sent = true;
+            }
+            List<Entry> entries;
+            while (!(entries = read(cursor, DRAIN_BATCH)).isEmpty()) {
+                for (Entry entry : entries) {
+                    if (entry == null) {
+                        reset();
+                        sent = true;
+                        continue;
+                    }
+                    cursor = entry.change().getSequence();
+                    if (isAdmin || user.equals(entry.change().getCreatedBy())) {
+                        emitter.send(SseEmitter.event().id(Long.toString(cursor))
+                                .name(entry.change().getType().name().toLowerCase())
+                                .data(entry.json()));
+                        sent = true;
+                    }
+                }
+            }
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                if (!sent) {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+            }
+        }
+
+        private void reset() throws IOException {
+            emitter.send(SseEmitter.event().name("reset")
+                    .data("Some changes are no longer available, reload the event list"));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.docencia.aed.service.impl;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Duración de las operaciones de escritura del servicio (events.operations), por
+ * acción y resultado. El temporizador de éxito de cada acción se crea al arrancar; los
+ * de error se buscan en el registro solo cuando hay un error.
+ */
+@Component
+public class EventMetrics {
+
+    enum Action {
+        CREATE("create"),
+        CREATE_BATCH("create_batch"),
+        PATCH("patch"),
+        SUBMIT("submit"),
+        SUBMIT_BATCH("submit_batch"),
+        APPROVE("approve"),
+        APPROVE_BATCH("approve_batch"),
+        REJECT("reject"),
+        REJECT_BATCH("reject_batch"),
+        DELETE("delete");
+
+        private final String tag;
+
+        Action(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final String NAME = "events.operations";
+
+    private final MeterRegistry registry;
+    private final Map<Action, Timer> succeeded = new EnumMap<>(Action.class);
+
+    public EventMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Action action : Action.values()) {
+            succeeded.put(action, timer(action, "success"));
+        }
+    }
+
+    <T> T record(Action action, Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            T result = operation.get();
+            succeeded.get(action).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException ex) {
+            // El tipo de excepción ya dice qué pasó: 403, 404, 409, 412...
+            timer(action, ex.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw ex;
+        }
+    }
+
+    private Timer timer(Action action, String outcome) {
+        return Timer.builder(NAME).tag("action", action.tag).tag("outcome", outcome).register(registry);
+    }
+}
@@ -1,31 +1,57 @@
 package com.docencia.aed.service.impl;
 
+import com.docencia.aed.domain.BatchItemResult;
+import com.docencia.aed.domain.CachedJson;
 import com.docencia.aed.domain.EventCreateRequest;
+import com.docencia.aed.domain.EventPage;
 import com.docencia.aed.domain.EventPatchRequest;
 import com.docencia.aed.entity.Event;
 import com.docencia.aed.entity.EventStatus;
 import com.docencia.aed.exception.BadRequestException;
-import com.docencia.aed.exception.ConflictException;
 import com.docencia.aed.exception.ForbiddenException;
+import com.docencia.aed.exception.PreconditionFailedException;
 import com.docencia.aed.exception.ResourceNotFoundException;
 import com.docencia.aed.infrastructure.security.AppSecurityProperties;
 import com.docencia.aed.infrastructure.security.AppSecurityProperties.RolePermissions;
 import com.docencia.aed.repository.EventRepository;
 import com.docencia.aed.service.EventService;
+import com.docencia.aed.service.impl.EventMetrics.Action;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Service
 public class EventServiceImpl implements EventService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int EXPORT_BATCH_SIZE = 1000;
+    private static final int MAX_BATCH_SIZE = 10_000;
+
     private final EventRepository repo;
     private final AppSecurityProperties securityProps;
+    private final PublicEventCache publicCache;
+    private final EventChangeFeed changeFeed;
+    private final EventMetrics metrics;
 
-    public EventServiceImpl(EventRepository repo, AppSecurityProperties securityProps) {
+    public EventServiceImpl(EventRepository repo, AppSecurityProperties securityProps, PublicEventCache publicCache,
+            EventChangeFeed changeFeed, EventMetrics metrics) {
         this.repo = repo;
         this.securityProps = securityProps;
+        this.publicCache = publicCache;
+        this.changeFeed = changeFeed;
+        this.metrics = metrics;
     }
 
     @Override
@@ -35,17 +61,46 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public Event getPublicApprovedById(Long id) {
-        Event event = repo.findById(id).orElseThrow(() -> new IllegalArgumentException("Evento no encontrado"));
-        if (event.getStatus() != EventStatus.APPROVED) {
-            throw new IllegalArgumentException("Event not approved");
-        }
-        return event;
+        // Uno sin aprobar responde igual que uno que no existe: v1 no revela que está ahí
+        return repo.findById(id).filter(e -> e.getStatus() == EventStatus.APPROVED)
+                .orElseThrow(() -> notFound(id));
+    }
+
+    @Override
+    public CachedJson listPublicApprovedJson() {
+        return publicCache.list(this::listPublicApproved);
+    }
+
+    @Override
+    public CachedJson getPublicApprovedJson(Long id) {
+        return publicCache.event(getPublicApprovedById(id));
+    }
+
+    @Override
+    public EventPage listPublicApprovedPage(Long afterId, Integer limit) {
+        int size = pageSize(limit);
+        return toPage(repo.findByStatusAfter(EventStatus.APPROVED, afterId, size + 1), size);
+    }
+
+    @Override
+    public List<Event> listPublicApprovedBetween(Instant from, Instant to, Integer limit) {
+        validWindow(from, to);
+        return repo.findByStatusBetween(EventStatus.APPROVED, from, to, windowSize(limit));
+    }
+
+    @Override
+    public List<Event> searchPublicApproved(String query, Integer limit) {
+        validQuery(query);
+        return repo.search(query, EventStatus.APPROVED, null, pageSize(limit));
     }
 
     @Override
     public List<Event> listV2(String requestingUser, boolean isAdmin, EventStatus statusFilterOrNull) {
         if (isAdmin) {
-            return repo.findByStatus(statusFilterOrNull);
+            return statusFilterOrNull == null ? repo.findAll() : repo.findByStatus(statusFilterOrNull);
+        }
+        if (statusFilterOrNull == null) {
+            return repo.findByCreatedBy(requestingUser);
         }
         return repo.findByCreatedByAndStatus(requestingUser, statusFilterOrNull);
     }
@@ -53,24 +108,348 @@ public class EventServiceImpl implements EventService {
     @Override
     public Event getV2ById(String requestingUser, boolean isAdmin, Long id) {
 
-        Event event = repo.findById(id).orElseThrow(() -> new IllegalArgumentException("Evento no encontrado"));
+        Event event = repo.findById(id).orElseThrow(() -> notFound(id));
+        checkVisible(event, requestingUser, isAdmin);
+        return event;
+    }
+
+    @Override
+    public EventPage listV2Page(String requestingUser, boolean isAdmin, EventStatus statusFilterOrNull, Long afterId,
+            Integer limit) {
+        int size = pageSize(limit);
+        return toPage(visibleAfter(requestingUser, isAdmin, statusFilterOrNull, afterId, size + 1), size);
+    }
+
+    @Override
+    public Stream<Event> streamV2(String requestingUser, boolean isAdmin, EventStatus statusFilterOrNull) {
+        Iterator<Event> events = new Iterator<>() {
+            private List<Event> batch = List.of();
+            private int next;
+            private Long cursor;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (next < batch.size()) {
+                    return true;
+                }
+                if (exhausted) {
+                    return false;
+                }
+                batch = visibleAfter(requestingUser, isAdmin, statusFilterOrNull, cursor, EXPORT_BATCH_SIZE);
+                next = 0;
+                exhausted = batch.size() < EXPORT_BATCH_SIZE;
+                if (!batch.isEmpty()) {
+                    cursor = batch.get(batch.size() - 1).getId();
+                }
+                return !batch.isEmpty();
+            }
+
+            @Override
+            public Event next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return batch.get(next++);
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(events,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    // Feed SSE de cambios, con lo que se haya perdido desde lastEventId (ver EventChangeFeed)
+    @Override
+    public SseEmitter changes(String requestingUser, boolean isAdmin, Long lastEventId) {
+        return changeFeed.subscribe(requestingUser, isAdmin, lastEventId);
+    }
+
+    // Eventos visibles según el rol (admin: todos; colaborador: los suyos) a partir del cursor
+    private List<Event> visibleAfter(String requestingUser, boolean isAdmin, EventStatus statusFilterOrNull,
+            Long afterId, int limit) {
         if (isAdmin) {
-            return event;
+            return statusFilterOrNull == null ? repo.findAllAfter(afterId, limit)
+                    : repo.findByStatusAfter(statusFilterOrNull, afterId, limit);
         }
-        if (!event.getCreatedBy().equals(requestingUser)) {
-            throw new IllegalArgumentException("You do not have permission to access this event");
+        if (statusFilterOrNull == null) {
+            return repo.findByCreatedByAfter(requestingUser, afterId, limit);
         }
-        return event;
+        return repo.findByCreatedByAndStatusAfter(requestingUser, statusFilterOrNull, afterId, limit);
+    }
+
+    @Override
+    public List<Event> listV2Between(String requestingUser, boolean isAdmin, EventStatus statusFilterOrNull,
+            Instant from, Instant to, Integer limit) {
+        validWindow(from, to);
+        int size = windowSize(limit);
+        if (isAdmin) {
+            return statusFilterOrNull == null ? repo.findAllBetween(from, to, size)
+                    : repo.findByStatusBetween(statusFilterOrNull, from, to, size);
+        }
+        if (statusFilterOrNull == null) {
+            return repo.findByCreatedByBetween(requestingUser, from, to, size);
+        }
+        return repo.findByCreatedByAndStatusBetween(requestingUser, statusFilterOrNull, from, to, size);
+    }
+
+    @Override
+    public List<Event> searchV2(String requestingUser, boolean isAdmin, EventStatus statusFilterOrNull, String query,
+            Integer limit) {
+        validQuery(query);
+        String createdBy = isAdmin ? null : requestingUser;
+        return repo.search(query, statusFilterOrNull, createdBy, pageSize(limit));
     }
 
     @Override
     public Event create(String requestingUser, boolean isAdmin, EventCreateRequest req) {
-        RolePermissions permissions = isAdmin ? securityProps.getPermissions().getAdmin()
-                : securityProps.getPermissions().getCollaborator();
-        if (!permissions.isCanCreate()) {
+        return metrics.record(Action.CREATE, () -> {
+            checkCanCreate(isAdmin);
+            Event event = repo.save(newEvent(requestingUser, req));
+            changed(null, event);
+            return event;
+        });
+    }
+
+    @Override
+    public List<BatchItemResult> createBatch(String requestingUser, boolean isAdmin, List<EventCreateRequest> reqs) {
+        return metrics.record(Action.CREATE_BATCH, () -> saveBatch(requestingUser, isAdmin, reqs));
+    }
+
+    private List<BatchItemResult> saveBatch(String requestingUser, boolean isAdmin, List<EventCreateRequest> reqs) {
+        validBatchSize(reqs);
+        checkCanCreate(isAdmin);
+        BatchItemResult[] results = new BatchItemResult[reqs.size()];
+        List<Event> events = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < reqs.size(); i++) {
+            try {
+                events.add(newEvent(requestingUser, reqs.get(i)));
+                positions.add(i);
+            } catch (RuntimeException ex) {
+                results[i] = BatchItemResult.failed(null, ex);
+            }
+        }
+        List<Event> saved = repo.saveAll(events);
+        for (int j = 0; j < saved.size(); j++) {
+            changed(null, saved.get(j));
+            results[positions.get(j)] = BatchItemResult.ok(saved.get(j));
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public Event patch(String requestingUser, boolean isAdmin, Long id, EventPatchRequest req, Long expectedVersion) {
+        return metrics.record(Action.PATCH, () -> update(requestingUser, isAdmin, id, expectedVersion, current -> {
+            if (!canEdit(current, requestingUser, isAdmin)) {
+                throw new ForbiddenException("You do not have permission to edit this event");
+            }
+            Event evento = new Event(current);
+            if (req.getTitle() != null && !req.getTitle().isBlank()) {
+                evento.setTitle(req.getTitle());
+            }
+            if (req.getDescription() != null) {
+                evento.setDescription(req.getDescription());
+            }
+            if (req.getStartAt() != null && req.getEndAt() != null) {
+                if (req.getStartAt().isAfter(req.getEndAt())) {
+                    throw new BadRequestException("The start date cannot be later than the end date");
+                }
+                evento.setStartAt(req.getStartAt());
+                evento.setEndAt(req.getEndAt());
+            }
+            evento.setUpdatedAt(Instant.now());
+            return evento;
+        }));
+    }
+
+    @Override
+    public Event submitForApproval(String requestingUser, boolean isAdmin, Long id, Long expectedVersion) {
+        return metrics.record(Action.SUBMIT,
+                () -> update(requestingUser, isAdmin, id, expectedVersion, submitChange(requestingUser, isAdmin)));
+    }
+
+    @Override
+    public Event approve(String requestingUser, boolean isAdmin, Long id, Long expectedVersion) {
+        return metrics.record(Action.APPROVE,
+                () -> update(requestingUser, isAdmin, id, expectedVersion, approveChange(requestingUser, isAdmin)));
+    }
+
+    @Override
+    public Event reject(String requestingUser, boolean isAdmin, Long id, String reason, Long expectedVersion) {
+        return metrics.record(Action.REJECT,
+                () -> update(requestingUser, isAdmin, id, expectedVersion, rejectChange(requestingUser, isAdmin, reason)));
+    }
+
+    @Override
+    public List<BatchItemResult> submitBatch(String requestingUser, boolean isAdmin, List<Long> ids) {
+        return metrics.record(Action.SUBMIT_BATCH,
+                () -> updateBatch(requestingUser, isAdmin, ids, submitChange(requestingUser, isAdmin)));
+    }
+
+    @Override
+    public List<BatchItemResult> approveBatch(String requestingUser, boolean isAdmin, List<Long> ids) {
+        return metrics.record(Action.APPROVE_BATCH,
+                () -> updateBatch(requestingUser, isAdmin, ids, approveChange(requestingUser, isAdmin)));
+    }
+
+    @Override
+    public List<BatchItemResult> rejectBatch(String requestingUser, boolean isAdmin, List<Long> ids, String reason) {
+        return metrics.record(Action.REJECT_BATCH, () -> {
+            if (reason == null || reason.isBlank()) {
+                throw new BadRequestException("The rejection reason is required");
+            }
+            return updateBatch(requestingUser, isAdmin, ids, rejectChange(requestingUser, isAdmin, reason));
+        });
+    }
+
+    private UnaryOperator<Event> submitChange(String requestingUser, boolean isAdmin) {
+        return evento -> {
+            if (!canSubmit(evento, requestingUser, isAdmin)) {
+                throw new ForbiddenException("You do not have permission to submit this event for approval");
+            }
+            return EventTransition.SUBMIT.apply(evento, requestingUser, null, Instant.now());
+        };
+    }
+
+    private UnaryOperator<Event> approveChange(String requestingUser, boolean isAdmin) {
+        return evento -> {
+            RolePermissions permissions = efectivePermissions(isAdmin);
+            if (!permissions.isCanApprove()) {
+                throw new ForbiddenException("You do not have permission to approve events");
+            }
+            return EventTransition.APPROVE.apply(evento, requestingUser, null, Instant.now());
+        };
+    }
+
+    private UnaryOperator<Event> rejectChange(String requestingUser, boolean isAdmin, String reason) {
+        return evento -> {
+            RolePermissions permissions = efectivePermissions(isAdmin);
+            if (!permissions.isCanReject()) {
+                throw new ForbiddenException("You do not have permission to decline events");
+            }
+            return EventTransition.REJECT.apply(evento, requestingUser, reason, Instant.now());
+        };
+    }
+
+    @Override
+    public void delete(String requestingUser, boolean isAdmin, Long id, Long expectedVersion) {
+        metrics.record(Action.DELETE, () -> {
+            remove(isAdmin, id, expectedVersion);
+            return null;
+        });
+    }
+
+    private void remove(boolean isAdmin, Long id, Long expectedVersion) {
+        Event evento = repo.findById(id).orElseThrow(() -> notFound(id));
+
+        RolePermissions permissions = efectivePermissions(isAdmin);
+        if (!permissions.isCanDelete()) {
+            throw new ForbiddenException("You do not have permission to delete events");
+        }
+        if (expectedVersion == null) {
+            repo.deleteById(id);
+        } else {
+            checkVersion(evento, expectedVersion);
+            if (!repo.deleteByIdIfVersion(id, expectedVersion)) {
+                // Otro escritor se adelantó: si lo ha borrado, 404; si lo ha cambiado, 412
+                Event current = repo.findById(id).orElseThrow(() -> notFound(id));
+                checkVersion(current, expectedVersion);
+                throw new PreconditionFailedException("The event with id: " + id + " has been modified");
+            }
+        }
+        changed(evento, null);
+    }
+
+    /**
+     * Lectura-modificación-escritura atómica en el repositorio (update): visibilidad,
+     * If-Match, permisos y reglas de estado se comprueban sobre el evento guardado en ese
+     * momento, sin que otra escritura del mismo id pueda colarse entre medias. Así, de un
+     * approve y un reject simultáneos solo uno encuentra el evento en PENDING_APPROVAL.
+     */
+    private Event update(String requestingUser, boolean isAdmin, Long id, Long expectedVersion,
+            UnaryOperator<Event> change) {
+        Event[] before = new Event[1];
+        Event evento = repo.update(id, current -> {
+            checkVisible(current, requestingUser, isAdmin);
+            checkVersion(current, expectedVersion);
+            before[0] = current;
+            return change.apply(current);
+        }).orElseThrow(() -> notFound(id));
+        changed(before[0], evento);
+        return evento;
+    }
+
+    /**
+     * Versión por lotes de update: se validan todos, se guardan de una vez con
+     * saveAllIfVersion y solo los que pierden la carrera pasan por update uno a uno.
+     * Un fallo en un elemento no afecta al resto: cada uno lleva su propio resultado.
+     *
+     * Cada resultado se ha decidido sobre una versión concreta del evento. Uno aplicado,
+     * sobre la que reemplazó: saveAllIfVersion solo escribe si sigue siendo la leída, y si
+     * no, update vuelve a comprobar las reglas sobre la que ganó. Uno rechazado (404, 403,
+     * 409...), sobre la leída al empezar el lote: no se reintenta, aunque otra escritura
+     * posterior lo hubiera dejado en un estado válido, igual que una petición suelta que
+     * hubiera llegado en ese momento.
+     */
+    private List<BatchItemResult> updateBatch(String requestingUser, boolean isAdmin, List<Long> ids,
+            UnaryOperator<Event> change) {
+        validBatchSize(ids);
+        BatchItemResult[] results = new BatchItemResult[ids.size()];
+        List<Event> before = new ArrayList<>();
+        List<Event> after = new ArrayList<>();
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            try {
+                Event current = getV2ById(requestingUser, isAdmin, ids.get(i));
+                Event evento = change.apply(current);
+                before.add(current);
+                after.add(evento);
+                positions.add(i);
+            } catch (RuntimeException ex) {
+                results[i] = BatchItemResult.failed(ids.get(i), ex);
+            }
+        }
+
+        long[] versions = new long[before.size()];
+        for (int j = 0; j < versions.length; j++) {
+            versions[j] = before.get(j).getVersion();
+        }
+        boolean[] saved = repo.saveAllIfVersion(after, versions);
+        for (int j = 0; j < saved.length; j++) {
+            int i = positions.get(j);
+            if (saved[j]) {
+                changed(before.get(j), after.get(j));
+                results[i] = BatchItemResult.ok(after.get(j));
+                continue;
+            }
+            try {
+                results[i] = BatchItemResult.ok(update(requestingUser, isAdmin, ids.get(i), null, change));
+            } catch (RuntimeException ex) {
+                results[i] = BatchItemResult.failed(ids.get(i), ex);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    // Todo lo que modifica eventos pasa por aquí después de escribir en el repositorio
+    private void changed(Event before, Event after) {
+        publicCache.changed(before, after);
+        changeFeed.publish(before, after);
+    }
+
+    private void checkCanCreate(boolean isAdmin) {
+        if (!efectivePermissions(isAdmin).isCanCreate()) {
             throw new ForbiddenException("You do not have permission to create events");
         }
+    }
+
+    private Event newEvent(String requestingUser, EventCreateRequest req) {
+        if (req == null) {
+            throw new BadRequestException("The event is required");
+        }
         validEventData(req.getTitle(), req.getStartAt(), req.getEndAt());
+        if (req.getStartAt() == null) {
+            throw new BadRequestException("The start date is required");
+        }
 
         Event event = new Event();
         event.setTitle(req.getTitle());
@@ -80,81 +459,61 @@ public class EventServiceImpl implements EventService {
         event.setCreatedBy(requestingUser);
         event.setStatus(EventStatus.DRAFT);
         event.setCreatedAt(Instant.now());
-
-        return repo.save(event);
+        return event;
     }
 
-    @Override
-    public Event patch(String requestingUser, boolean isAdmin, Long id, EventPatchRequest req) {
-        Event evento = getV2ById(requestingUser, isAdmin, id);
-        if (!canEdit(evento, requestingUser, isAdmin)) {
-            throw new ForbiddenException("You do not have permission to edit this event");
+    private void validBatchSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new BadRequestException("The batch cannot be empty");
         }
-        if (req.getTitle() != null && !req.getTitle().isBlank()) {
-            evento.setTitle(req.getTitle());
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException("A batch can contain at most " + MAX_BATCH_SIZE + " items");
         }
-        if (req.getDescription() != null) {
-            evento.setDescription(req.getDescription());
-        }
-        if (req.getStartAt() != null && req.getEndAt() != null) {
-            if (req.getStartAt().isAfter(req.getEndAt())) {
-                throw new BadRequestException("The start date cannot be later than the end date");
-            }
-            evento.setStartAt(req.getStartAt());
-            evento.setEndAt(req.getEndAt());
-        }
-        return repo.save(evento);
     }
 
-    @Override
-    public Event submitForApproval(String requestingUser, boolean isAdmin, Long id) {
-        Event evento = getV2ById(requestingUser, isAdmin, id);
-
-        if (!canSubmit(evento, requestingUser, isAdmin)) {
-            throw new ForbiddenException("You do not have permission to submit this event for approval");
+    private void checkVersion(Event event, Long expectedVersion) {
+        if (expectedVersion != null && event.getVersion() != expectedVersion) {
+            throw new PreconditionFailedException("The event with id: " + event.getId() + " has been modified");
         }
-        validTansitionalStatus(evento, EventStatus.DRAFT, EventStatus.REJECTED, "submit");
-        evento.setStatus(EventStatus.PENDING_APPROVAL);
-        return repo.save(evento);
     }
 
-    @Override
-    public Event approve(String requestingUser, boolean isAdmin, Long id) {
-        Event evento = getV2ById(requestingUser, isAdmin, id);
-        RolePermissions permissions = efectivePermissions(isAdmin);
-        if (!permissions.isCanApprove()) {
-            throw new ForbiddenException("You do not have permission to approve events");
+    private int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
         }
-        validTansitionalStatus(evento, EventStatus.PENDING_APPROVAL, null, "approve");
-        evento.setStatus(EventStatus.APPROVED);
-        return repo.save(evento);
+        if (limit < 1) {
+            throw new BadRequestException("The limit must be greater than zero");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
     }
 
-    @Override
-    public Event reject(String requestingUser, boolean isAdmin, Long id, String reason) {
-        Event evento = getV2ById(requestingUser, isAdmin, id);
-        RolePermissions permissions = efectivePermissions(isAdmin);
-        if (!permissions.isCanReject()) {
-            throw new ForbiddenException("You do not have permission to decline events");
-        }
-        validTansitionalStatus(evento, EventStatus.PENDING_APPROVAL, null, "reject");
+    // En una ventana temporal el límite es opcional: la propia ventana acota el resultado
+    private int windowSize(Integer limit) {
+        return limit == null ? Integer.MAX_VALUE : pageSize(limit);
+    }
 
-        evento.setStatus(EventStatus.REJECTED);
-        evento.setRejectionReason(reason);
-        return repo.save(evento);
+    private void validQuery(String query) {
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("The search query cannot be empty");
+        }
     }
 
-    @Override
-    public void delete(String requestingUser, boolean isAdmin, Long id) {
-        if (repo.findById(id).isEmpty()) {
-            throw new ResourceNotFoundException("The event with id: " + id + " was not found");
+    private void validWindow(Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("The start of the time window must be before its end");
         }
+    }
 
-        RolePermissions permissions = efectivePermissions(isAdmin);
-        if (!permissions.isCanDelete()) {
-            throw new ForbiddenException("You do not have permission to delete events");
+    /**
+     * Se pide un elemento de más al repositorio: si llega, hay siguiente página
+     * y el cursor es el id del último elemento devuelto.
+     */
+    private EventPage toPage(List<Event> events, int size) {
+        if (events.size() <= size) {
+            return new EventPage(events, null);
         }
-        repo.deleteById(id);
+        List<Event> items = events.subList(0, size);
+        return new EventPage(items, items.get(size - 1).getId());
     }
 
     private RolePermissions efectivePermissions(boolean isAdmin) {
@@ -174,26 +533,6 @@ public class EventServiceImpl implements EventService {
                 && permissions.isCanEditOwnDraftOrRejected();
     }
 
-    private void validTansitionalStatus(Event event, EventStatus requiredStatus, EventStatus alternativeStatus,
-            String action) {
-        EventStatus currentStatus = event.getStatus();
-        boolean validStatus = false;
-
-        if (currentStatus == requiredStatus) {
-            validStatus = true;
-        } else if (alternativeStatus != null && currentStatus == alternativeStatus) {
-            validStatus = true;
-        }
-
-        if (!validStatus) {
-            String message = "You can only " + action + " events that are in the following states: " + requiredStatus;
-            if (alternativeStatus != null) {
-                message += " or " + alternativeStatus;
-            }
-            throw new ConflictException(message);
-        }
-    }
-
     private void validEventData(String title, Instant startAt, Instant endAt) {
         if (title == null || title.isBlank()) {
             throw new BadRequestException("The title is required");
@@ -203,6 +542,16 @@ public class EventServiceImpl implements EventService {
         }
     }
 
+    private void checkVisible(Event event, String requestingUser, boolean isAdmin) {
+        if (!isAdmin && !event.getCreatedBy().equals(requestingUser)) {
+            throw new ForbiddenException("You do not have permission to access this event");
+        }
+    }
+
+    private static ResourceNotFoundException notFound(Long id) {
+        return new ResourceNotFoundException("The event with id: " + id + " was not found");
+    }
+
     private boolean canSubmit(Event event, String requestingUser, boolean isAdmin) {
         RolePermissions permissions = efectivePermissions(isAdmin);
 
@@ -0,0 +1,60 @@
+package com.docencia.aed.service.impl;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.exception.ConflictException;
+
+import java.time.Instant;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Máquina de estados del flujo de aprobación, como tabla: cada transición con el
+ * estado al que lleva y los estados desde los que se permite.
+ *
+ * DRAFT/REJECTED --submit--> PENDING_APPROVAL --approve--> APPROVED
+ *                                             --reject---> REJECTED
+ *
+ * apply no toca el evento guardado: devuelve una copia con el estado nuevo y los
+ * campos de auditoría rellenos. Los permisos por rol los comprueba el servicio.
+ */
+enum EventTransition {
+
+    SUBMIT("submit", EventStatus.PENDING_APPROVAL, EnumSet.of(EventStatus.DRAFT, EventStatus.REJECTED)),
+    APPROVE("approve", EventStatus.APPROVED, EnumSet.of(EventStatus.PENDING_APPROVAL)),
+    REJECT("reject", EventStatus.REJECTED, EnumSet.of(EventStatus.PENDING_APPROVAL));
+
+    private final EventStatus target;
+    private final Set<EventStatus> sources;
+    // El mensaje no depende del evento: se construye una vez
+    private final String notAllowed;
+
+    EventTransition(String action, EventStatus target, Set<EventStatus> sources) {
+        this.target = target;
+        this.sources = sources;
+        this.notAllowed = "You can only " + action + " events that are in the following states: "
+                + sources.stream().map(EventStatus::name).collect(Collectors.joining(" or "));
+    }
+
+    /**
+     * Copia de {@code current} tras la transición, hecha por {@code actor} en {@code now}.
+     * {@code reason} solo se usa al rechazar. Lanza ConflictException si el estado
+     * actual no la permite.
+     */
+    Event apply(Event current, String actor, String reason, Instant now) {
+        if (!sources.contains(current.getStatus())) {
+            throw new ConflictException(notAllowed);
+        }
+        Event next = new Event(current);
+        next.setStatus(target);
+        next.setUpdatedAt(now);
+        if (this == APPROVE) {
+            next.setApprovedBy(actor);
+            next.setApprovedAt(now);
+        } else if (this == REJECT) {
+            next.setRejectionReason(reason);
+        }
+        return next;
+    }
+}
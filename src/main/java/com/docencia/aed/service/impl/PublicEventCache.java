@@ -0,0 +1,107 @@
+package com.docencia.aed.service.impl;
+
+import com.docencia.aed.domain.CachedJson;
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * JSON ya serializado de la API pública v1.
+ *
+ * Cada evento aprobado se serializa una vez por versión: la entrada solo vale si
+ * coincide con la versión del evento leído, así que no hace falta invalidarla.
+ * La lista se arma concatenando esos bytes y se guarda con la generación en la que
+ * se construyó; EventServiceImpl avanza la generación cuando un cambio entra o sale
+ * de APPROVED. Los ETag incluyen un identificador de arranque para que no coincidan
+ * con los de una ejecución anterior.
+ */
+@Component
+public class PublicEventCache {
+
+    private final ObjectMapper mapper;
+    private final String bootId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final ConcurrentHashMap<Long, Entry> events = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private volatile ListEntry list;
+
+    public PublicEventCache(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    CachedJson event(Event event) {
+        Entry cached = events.get(event.getId());
+        if (cached != null && cached.version == event.getVersion()) {
+            return cached.json;
+        }
+        CachedJson json = new CachedJson(serialize(event), bootId + "-" + event.getId() + "-" + event.getVersion());
+        events.put(event.getId(), new Entry(event.getVersion(), json));
+        return json;
+    }
+
+    /**
+     * Lista cacheada si sigue vigente; si no, se reconstruye con {@code approved},
+     * que se consulta después de leer la generación para no guardar una lista vieja
+     * como si fuera nueva.
+     */
+    CachedJson list(Supplier<List<Event>> approved) {
+        long current = generation.get();
+        ListEntry cached = list;
+        if (cached != null && cached.generation == current) {
+            return cached.json;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        boolean first = true;
+        for (Event event : approved.get()) {
+            if (!first) {
+                out.write(',');
+            }
+            out.writeBytes(event(event).getBody());
+            first = false;
+        }
+        out.write(']');
+        CachedJson json = new CachedJson(out.toByteArray(), bootId + "-g" + current);
+        list = new ListEntry(current, json);
+        return json;
+    }
+
+    /**
+     * Un evento ha cambiado (after == null si se ha borrado). Solo importa si antes o
+     * después estaba aprobado, que es lo que ve la API pública.
+     */
+    void changed(Event before, Event after) {
+        boolean wasPublic = before != null && before.getStatus() == EventStatus.APPROVED;
+        boolean isPublic = after != null && after.getStatus() == EventStatus.APPROVED;
+        if (!wasPublic && !isPublic) {
+            return;
+        }
+        if (!isPublic) {
+            events.remove(before.getId());
+        }
+        generation.incrementAndGet();
+    }
+
+    private byte[] serialize(Event event) {
+        try {
+            return mapper.writeValueAsBytes(event);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record Entry(long version, CachedJson json) {
+    }
+
+    private record ListEntry(long generation, CachedJson json) {
+    }
+}
@@ -1,5 +1,7 @@
 package com.docencia.aed.util;
 
+import com.docencia.aed.infrastructure.security.AuthenticatedUser;
+import com.docencia.aed.infrastructure.security.Role;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -12,8 +14,15 @@ public final class SecurityUtils {
     }
 
     public static boolean isAdmin() {
+        return hasRole(Role.ADMIN);
+    }
+
+    public static boolean hasRole(Role role) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         if (auth == null) return false;
-        return auth.getAuthorities().stream().anyMatch(a -> "ROLE_ADMIN".equals(a.getAuthority()));
+        // Con JWT los roles ya vienen como bits; el resto (p. ej. Basic) se recorre como antes
+        if (auth instanceof AuthenticatedUser user) return user.hasRole(role);
+        String authority = "ROLE_" + role.name();
+        return auth.getAuthorities().stream().anyMatch(a -> authority.equals(a.getAuthority()));
     }
 }
@@ -0,0 +1,33 @@
+-- Esquema del repositorio JDBC (perfil jdbc). Idempotente: se ejecuta en cada arranque.
+
+-- Todos los ids salen de aquí, también los que trae el evento (JdbcEventRepository los
+-- reserva antes de insertarlos). Una secuencia no es transaccional: nada vuelve atrás.
+CREATE SEQUENCE IF NOT EXISTS events_id_seq;
+
+CREATE TABLE IF NOT EXISTS events (
+    id                BIGINT DEFAULT NEXT VALUE FOR events_id_seq PRIMARY KEY,
+    title             VARCHAR(1000) NOT NULL,
+    description       VARCHAR(1000000),
+    start_at          TIMESTAMP WITH TIME ZONE,
+    end_at            TIMESTAMP WITH TIME ZONE,
+    status            VARCHAR(32) NOT NULL,
+    created_by        VARCHAR(255),
+    created_at        TIMESTAMP WITH TIME ZONE,
+    updated_at        TIMESTAMP WITH TIME ZONE,
+    approved_by       VARCHAR(255),
+    approved_at       TIMESTAMP WITH TIME ZONE,
+    rejection_reason  VARCHAR(4000),
+    version           BIGINT NOT NULL,
+    -- Términos normalizados (" t1 t2 ... ") de título y descripción, para la búsqueda
+    title_terms       VARCHAR(1000000),
+    description_terms VARCHAR(1000000)
+);
+
+-- Listados por cursor: cada filtro con el id detrás, para leer solo los `limit` siguientes
+CREATE INDEX IF NOT EXISTS events_status_id ON events (status, id);
+CREATE INDEX IF NOT EXISTS events_creator_id ON events (created_by, id);
+CREATE INDEX IF NOT EXISTS events_creator_status_id ON events (created_by, status, id);
+
+-- Ventanas temporales: la pública (eventos aprobados) y la de admin sin filtro
+CREATE INDEX IF NOT EXISTS events_status_start ON events (status, start_at, id);
+CREATE INDEX IF NOT EXISTS events_start ON events (start_at, id);
@@ -0,0 +1,50 @@
+package com.docencia.aed.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeyedRateLimiterTest {
+
+    @Test
+    void evictsOnlyFullBuckets() {
+        long now = System.nanoTime();
+        KeyedRateLimiter limiter = new KeyedRateLimiter(2, 1, 3);
+        exhaust(limiter.bucket("agotado", now), now);
+        limiter.bucket("b", now);
+        limiter.bucket("c", now);
+
+        // Mapa lleno: "b" y "c" tienen el cubo lleno y se olvidan, "agotado" no
+        TokenBucket d = limiter.bucket("d", now);
+
+        assertThat(limiter.bucket("b", now)).isNotSameAs(d)
+                .satisfies(b -> assertThat(b.available(now)).isEqualTo(2));
+        assertThat(limiter.bucket("agotado", now).available(now)).isZero();
+    }
+
+    @Test
+    void newKeysShareABucketWhenEveryBucketIsInUse() {
+        long now = System.nanoTime();
+        KeyedRateLimiter limiter = new KeyedRateLimiter(2, 1, 3);
+        for (String key : new String[] {"a", "b", "c"}) {
+            exhaust(limiter.bucket(key, now), now);
+        }
+
+        TokenBucket first = limiter.bucket("nueva-1", now);
+        TokenBucket second = limiter.bucket("nueva-2", now);
+
+        assertThat(second).isSameAs(first);
+        exhaust(first, now);
+        assertThat(limiter.bucket("nueva-3", now).available(now)).isZero();
+        // Los agotados siguen agotados
+        for (String key : new String[] {"a", "b", "c"}) {
+            assertThat(limiter.bucket(key, now).available(now)).isZero();
+        }
+    }
+
+    private static void exhaust(TokenBucket bucket, long now) {
+        while (bucket.tryAcquire(now)) {
+            // gastar todos los tokens
+        }
+    }
+}
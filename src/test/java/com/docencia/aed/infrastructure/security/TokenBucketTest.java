@@ -0,0 +1,36 @@
+package com.docencia.aed.infrastructure.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void acquiresSeveralTokensAtOnceOrNone() {
+        TokenBucket bucket = new TokenBucket(10, SECOND, 0);
+
+        assertThat(bucket.tryAcquire(0, 7)).isTrue();
+        assertThat(bucket.available(0)).isEqualTo(3);
+        // No caben 4: no se consume ninguno
+        assertThat(bucket.tryAcquire(0, 4)).isFalse();
+        assertThat(bucket.available(0)).isEqualTo(3);
+        assertThat(bucket.nanosUntil(0, 4)).isEqualTo(SECOND);
+        assertThat(bucket.tryAcquire(SECOND, 4)).isTrue();
+    }
+
+    @Test
+    void moreTokensThanBurstNeverFit() {
+        TokenBucket bucket = new TokenBucket(10, SECOND, 0);
+
+        assertThat(bucket.tryAcquire(0, 11)).isFalse();
+        assertThat(bucket.available(0)).isEqualTo(10);
+        assertThat(bucket.tryAcquire(0, 10)).isTrue();
+        // Lo que falta para el cubo lleno
+        assertThat(bucket.nanosUntil(0, 11)).isEqualTo(10 * SECOND);
+    }
+}
@@ -0,0 +1,156 @@
+package com.docencia.aed.repository.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrequencyCacheTest {
+
+    private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService pool = Executors.newCachedThreadPool();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentMissesLoadOnce() throws Exception {
+        FrequencyCache<Long, String> cache = cache(100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Function<Long, String> slow = id -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "evento " + id;
+        };
+
+        Future<String> first = pool.submit(() -> cache.get(1L, slow));
+        loading.await();
+        List<Future<String>> others = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            others.add(pool.submit(() -> cache.get(1L, slow)));
+        }
+        release.countDown();
+
+        assertThat(first.get()).isEqualTo("evento 1");
+        for (Future<String> other : others) {
+            assertThat(other.get()).isEqualTo("evento 1");
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void missingValuesAreCachedToo() {
+        FrequencyCache<Long, String> cache = cache(100);
+        Function<Long, String> missing = id -> {
+            loads.incrementAndGet();
+            return null;
+        };
+
+        assertThat(cache.get(1L, missing)).isNull();
+        assertThat(cache.get(1L, missing)).isNull();
+        assertThat(loads).hasValue(1);
+
+        cache.invalidate(1L);
+        assertThat(cache.get(1L, id -> "creado")).isEqualTo("creado");
+    }
+
+    @Test
+    void loadStartedBeforeClearIsNotKept() throws Exception {
+        FrequencyCache<Long, String> cache = cache(100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // La lectura ve el valor viejo; la escritura termina y limpia antes que ella
+        Future<String> stale = pool.submit(() -> cache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return "viejo";
+        }));
+        loading.await();
+        cache.clear();
+        release.countDown();
+
+        assertThat(stale.get()).isEqualTo("viejo");
+        assertThat(cache.get(1L, id -> "nuevo")).isEqualTo("nuevo");
+    }
+
+    @Test
+    void loadStartedBeforeInvalidateIsNotKept() throws Exception {
+        FrequencyCache<Long, String> cache = cache(100);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> stale = pool.submit(() -> cache.get(1L, id -> {
+            loading.countDown();
+            await(release);
+            return "viejo";
+        }));
+        loading.await();
+        cache.invalidate(1L);
+        release.countDown();
+
+        assertThat(stale.get()).isEqualTo("viejo");
+        assertThat(cache.get(1L, id -> "nuevo")).isEqualTo("nuevo");
+    }
+
+    @Test
+    void evictionKeepsFrequentEntriesWithinTheLimit() {
+        FrequencyCache<Long, String> cache = cache(100);
+        Function<Long, String> loader = id -> {
+            loads.incrementAndGet();
+            return "evento " + id;
+        };
+        for (long hot = 0; hot < 10; hot++) {
+            for (int i = 0; i < 50; i++) {
+                cache.get(hot, loader);
+            }
+        }
+
+        // Muchas claves que se leen una vez, mientras las frecuentes se siguen leyendo
+        for (long cold = 100; cold < 1000; cold++) {
+            cache.get(cold, loader);
+            cache.get(cold % 10, loader);
+        }
+
+        assertThat(weight()).isLessThanOrEqualTo(100);
+        loads.set(0);
+        for (long hot = 0; hot < 10; hot++) {
+            cache.get(hot, loader);
+        }
+        assertThat(loads).hasValue(0);
+    }
+
+    private FrequencyCache<Long, String> cache(long maxWeight) {
+        return new FrequencyCache<>("test", value -> 1, maxWeight, HOUR, registry);
+    }
+
+    private double weight() {
+        return registry.get("events.repository.cache.weight").gauge().value();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.docencia.aed.repository.jdbc;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.persistence.StoreProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JdbcEventRepository sobre H2 en memoria con el esquema de la aplicación.
+ */
+class JdbcEventRepositoryTest {
+
+    private EmbeddedDatabase db;
+    private JdbcTemplate jdbc;
+    private JdbcEventRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        db = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true)
+                .addScript("db/events-schema.sql").build();
+        jdbc = new JdbcTemplate(db);
+        repo = repository();
+    }
+
+    @AfterEach
+    void tearDown() {
+        db.shutdown();
+    }
+
+    private JdbcEventRepository repository() {
+        return new JdbcEventRepository(jdbc, new DataSourceTransactionManager(db), new StoreProperties(),
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void generatedIdsFollowExplicitOnes() {
+        repo.saveAll(List.of(event(1L), event(2L), event(10L)));
+
+        Event generated = repo.save(event(null));
+
+        assertThat(generated.getId()).isGreaterThan(10L);
+        assertThat(generated.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void explicitIdOfExistingEventUpdatesIt() {
+        Event first = repo.save(event(null));
+        Event again = event(first.getId());
+        again.setTitle("otro");
+
+        repo.save(again);
+
+        assertThat(repo.findById(first.getId())).get()
+                .satisfies(e -> assertThat(e.getTitle()).isEqualTo("otro"))
+                .satisfies(e -> assertThat(e.getVersion()).isEqualTo(2));
+    }
+
+    @Test
+    void generatedAndExplicitInsertsRunConcurrently() throws Exception {
+        int threads = 8;
+        int blocks = 20;
+        int block = 50;
+        // Como el generador de datos (bloques de ids contiguos con saveAll) con altas de
+        // la API a la vez: ninguna escritura falla y la secuencia acaba por encima de todo
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Long>>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                boolean explicit = t % 2 == 0;
+                int lane = t / 2;
+                results.add(pool.submit((Callable<List<Long>>) () -> {
+                    start.await();
+                    List<Long> ids = new ArrayList<>();
+                    for (int b = 0; b < blocks; b++) {
+                        if (explicit) {
+                            long first = ((long) b * (threads / 2) + lane) * block + 1;
+                            List<Event> batch = new ArrayList<>();
+                            for (long id = first; id < first + block; id++) {
+                                batch.add(event(id));
+                            }
+                            repo.saveAll(batch).forEach(e -> ids.add(e.getId()));
+                        } else {
+                            for (int i = 0; i < block; i++) {
+                                ids.add(repo.save(event(null)).getId());
+                            }
+                        }
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<Long> ids = new HashSet<>();
+            for (Future<List<Long>> result : results) {
+                ids.addAll(result.get());
+            }
+            // Un id puesto a mano que la secuencia ya había dado a un alta se escribe
+            // encima (es un save de ese id): puede haber menos ids que escrituras, pero
+            // cada id devuelto tiene su fila
+            assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM events", Integer.class)).isEqualTo(ids.size());
+            for (Long id : ids) {
+                assertThat(repo.findById(id)).isPresent();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Long max = jdbc.queryForObject("SELECT MAX(id) FROM events", Long.class);
+        assertThat(repo.save(event(null)).getId()).isGreaterThan(max);
+    }
+
+    @Test
+    void saveIfVersionOnlyWritesOverTheExpectedVersion() {
+        Event saved = repo.save(event(null));
+        Event stale = event(saved.getId());
+        stale.setTitle("viejo");
+        Event fresh = event(saved.getId());
+        fresh.setTitle("nuevo");
+
+        assertThat(repo.saveIfVersion(fresh, 1)).isTrue();
+        assertThat(repo.saveIfVersion(stale, 1)).isFalse();
+
+        assertThat(repo.findById(saved.getId())).get()
+                .satisfies(e -> assertThat(e.getTitle()).isEqualTo("nuevo"))
+                .satisfies(e -> assertThat(e.getVersion()).isEqualTo(2));
+    }
+
+    @Test
+    void deleteByIdIfVersionChecksVersionAndExistence() {
+        Event saved = repo.save(event(null));
+
+        assertThat(repo.deleteByIdIfVersion(saved.getId(), 2)).isFalse();
+        assertThat(repo.findById(saved.getId())).isPresent();
+        assertThat(repo.deleteByIdIfVersion(saved.getId(), 1)).isTrue();
+        assertThat(repo.findById(saved.getId())).isEmpty();
+        assertThat(repo.deleteByIdIfVersion(saved.getId(), 1)).isFalse();
+    }
+
+    @Test
+    void updateAppliesTheChangeToTheStoredVersion() {
+        Event saved = repo.save(event(null));
+
+        Event updated = repo.update(saved.getId(), e -> {
+            Event copy = new Event(e);
+            copy.setStatus(EventStatus.PENDING_APPROVAL);
+            return copy;
+        }).orElseThrow();
+
+        assertThat(updated.getVersion()).isEqualTo(2);
+        assertThat(repo.findById(saved.getId())).get()
+                .satisfies(e -> assertThat(e.getStatus()).isEqualTo(EventStatus.PENDING_APPROVAL))
+                .satisfies(e -> assertThat(e.getVersion()).isEqualTo(2));
+        assertThat(repo.update(999L, e -> e)).isEmpty();
+    }
+
+    @Test
+    void storeSizeIsCountedOncePerRefresh() {
+        StoreProperties props = new StoreProperties();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new JdbcStoreSize(jdbc, props, registry);
+        repo.saveAll(List.of(event(null), event(null)));
+
+        assertThat(size(registry, EventStatus.DRAFT)).isEqualTo(2);
+        assertThat(size(registry, EventStatus.APPROVED)).isZero();
+
+        // Dentro del intervalo sigue publicando el recuento anterior
+        repo.save(event(null));
+        assertThat(size(registry, EventStatus.DRAFT)).isEqualTo(2);
+
+        props.getJdbc().setSizeRefreshSeconds(0);
+        SimpleMeterRegistry always = new SimpleMeterRegistry();
+        new JdbcStoreSize(jdbc, props, always);
+        assertThat(size(always, EventStatus.DRAFT)).isEqualTo(3);
+    }
+
+    @Test
+    void startsAfterExistingIdsOnReopen() {
+        jdbc.update("INSERT INTO events (id, title, status, version) VALUES (500, 't', 'DRAFT', 1)");
+
+        JdbcEventRepository reopened = repository();
+
+        assertThat(reopened.save(event(null)).getId()).isGreaterThan(500L);
+    }
+
+    private static double size(SimpleMeterRegistry registry, EventStatus status) {
+        return registry.get("events.store.size").tag("status", status.name()).gauge().value();
+    }
+
+    private static Event event(Long id) {
+        Event event = new Event();
+        event.setId(id);
+        event.setTitle("evento " + id);
+        event.setDescription("descripción");
+        event.setStatus(EventStatus.DRAFT);
+        event.setCreatedBy("collab");
+        Instant now = Instant.parse("2026-01-01T10:00:00Z");
+        event.setStartAt(now);
+        event.setEndAt(now.plusSeconds(3600));
+        event.setCreatedAt(now);
+        event.setUpdatedAt(now);
+        return event;
+    }
+}
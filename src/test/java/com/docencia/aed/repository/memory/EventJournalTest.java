@@ -0,0 +1,255 @@
+package com.docencia.aed.repository.memory;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.persistence.StoreProperties;
+import com.docencia.aed.infrastructure.threads.BackgroundThreads;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * EventJournal con InMemoryEventRepository: cada prueba escribe, cierra como lo haría
+ * Spring al parar (o deja los ficheros como los dejaría una caída) y vuelve a abrir.
+ */
+class EventJournalTest {
+
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    Path dir;
+
+    private EventJournal journal;
+    private InMemoryEventRepository repo;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        close();
+    }
+
+    @Test
+    void replaysSnapshotAndTheLogAfterIt() throws Exception {
+        open(10);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(repo.save(event("evento " + i)).getId());
+        }
+        // Después del último snapshot: una actualización y un borrado que solo están en el log
+        repo.update(ids.get(3), e -> {
+            Event copy = new Event(e);
+            copy.setTitle("cambiado");
+            return copy;
+        });
+        repo.deleteById(ids.get(4));
+        close();
+
+        assertThat(files("snapshot-")).isNotEmpty();
+        assertThat(files("wal-0.log")).as("segments before the snapshot are deleted").isEmpty();
+
+        open(10);
+        assertThat(repo.findAll()).hasSize(24);
+        assertThat(repo.findById(ids.get(3))).get()
+                .satisfies(e -> assertThat(e.getTitle()).isEqualTo("cambiado"))
+                .satisfies(e -> assertThat(e.getVersion()).isEqualTo(2));
+        assertThat(repo.findById(ids.get(4))).isEmpty();
+        // El generador de ids sigue detrás del último recuperado
+        assertThat(repo.save(event("nuevo")).getId()).isGreaterThan(ids.get(24));
+    }
+
+    @Test
+    void snapshotsTakenWhileWritingMissNothing() throws Exception {
+        // Un snapshot por cada pocos registros, mientras se sigue escribiendo: cada uno
+        // tiene que ver todo lo que quedó en los segmentos que deja borrar
+        open(3);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            ids.add(repo.save(event("evento " + i)).getId());
+        }
+        close();
+
+        open(3);
+        assertThat(repo.findAll()).extracting(Event::getId).containsExactlyElementsOf(ids);
+    }
+
+    @Test
+    void stopsAtARecordCutInTheMiddle() throws Exception {
+        open(1000);
+        Event first = repo.save(event("uno"));
+        Event second = repo.save(event("dos"));
+        repo.save(event("tres"));
+        close();
+
+        // Caída a mitad del último registro
+        Path segment = dir.resolve("wal-0.log");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 5);
+        }
+
+        open(1000);
+        assertThat(repo.findAll()).extracting(Event::getId).containsExactly(first.getId(), second.getId());
+        // Lo nuevo va a otro segmento y se recupera detrás del que estaba cortado
+        Event fourth = repo.save(event("cuatro"));
+        close();
+
+        open(1000);
+        assertThat(repo.findAll()).extracting(Event::getId)
+                .containsExactly(first.getId(), second.getId(), fourth.getId());
+    }
+
+    @Test
+    void stopsAtACorruptRecord() throws Exception {
+        open(1000);
+        Event first = repo.save(event("uno"));
+        repo.save(event("dos"));
+        close();
+
+        Path segment = dir.resolve("wal-0.log");
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 10] ^= 0x55;
+        Files.write(segment, bytes);
+
+        open(1000);
+        assertThat(repo.findAll()).extracting(Event::getId).containsExactly(first.getId());
+    }
+
+    @Test
+    void concurrentWritersAreAllDurable() throws Exception {
+        open(500);
+        int threads = 8;
+        int perThread = 150;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Event>>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(pool.submit((Callable<List<Event>>) () -> {
+                    start.await();
+                    List<Event> saved = new ArrayList<>();
+                    for (int i = 0; i < perThread; i++) {
+                        Event event = repo.save(event("hilo " + thread + " " + i));
+                        if (i % 3 == 0) {
+                            event = repo.update(event.getId(), e -> {
+                                Event copy = new Event(e);
+                                copy.setStatus(EventStatus.PENDING_APPROVAL);
+                                return copy;
+                            }).orElseThrow();
+                        }
+                        saved.add(event);
+                    }
+                    return saved;
+                }));
+            }
+            start.countDown();
+            List<Event> saved = new ArrayList<>();
+            for (Future<List<Event>> result : results) {
+                saved.addAll(result.get());
+            }
+            close();
+
+            open(500);
+            assertThat(repo.findAll()).hasSize(threads * perThread);
+            for (Event event : saved) {
+                assertThat(repo.findById(event.getId())).get()
+                        .satisfies(e -> assertThat(e.getVersion()).isEqualTo(event.getVersion()))
+                        .satisfies(e -> assertThat(e.getStatus()).isEqualTo(event.getStatus()));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void becomesReadOnlyWhenTheDiskFails() throws Exception {
+        open(2);
+        Event first = repo.save(event("uno"));
+        // El segmento abierto sigue sirviendo; abrir el siguiente (al rotar) ya no
+        deleteRecursively(dir);
+        Files.writeString(dir, "no es un directorio");
+        repo.save(event("dos"));
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (journal.health().getStatus() != Status.DOWN && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(journal.health().getStatus()).isEqualTo(Status.DOWN);
+
+        assertThatThrownBy(() -> repo.save(event("tres"))).isInstanceOf(DataAccessResourceFailureException.class);
+        assertThatThrownBy(() -> repo.deleteById(first.getId()))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+        // Lo rechazado no ha llegado a la memoria
+        assertThat(repo.findAll()).hasSize(2);
+        assertThat(repo.findById(first.getId())).isPresent();
+        close();
+        Files.delete(dir);
+        Files.createDirectory(dir);
+    }
+
+    private void open(int snapshotEvery) {
+        StoreProperties props = new StoreProperties();
+        props.getJournal().setEnabled(true);
+        props.getJournal().setDirectory(dir.toString());
+        props.getJournal().setSnapshotEvery(snapshotEvery);
+        journal = new EventJournal(props, MAPPER, new BackgroundThreads(new MockEnvironment()));
+        repo = new InMemoryEventRepository(journal, new SimpleMeterRegistry());
+        repo.afterPropertiesSet();
+    }
+
+    private void close() throws Exception {
+        if (journal != null) {
+            journal.destroy();
+            journal = null;
+        }
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(f -> f.getFileName().toString().startsWith(prefix)).toList();
+        }
+    }
+
+    private static void deleteRecursively(Path root) throws IOException {
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static Event event(String title) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setDescription("descripción de " + title);
+        event.setStatus(EventStatus.DRAFT);
+        event.setCreatedBy("collab");
+        Instant start = Instant.parse("2026-03-01T10:00:00Z");
+        event.setStartAt(start);
+        event.setEndAt(start.plusSeconds(3600));
+        event.setCreatedAt(start);
+        return event;
+    }
+}
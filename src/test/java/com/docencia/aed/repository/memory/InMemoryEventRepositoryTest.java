@@ -0,0 +1,187 @@
+package com.docencia.aed.repository.memory;
+
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.repository.RepositoryWork;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryEventRepositoryTest {
+
+    private static final Instant DAY = Instant.parse("2026-03-01T00:00:00Z");
+
+    private SimpleMeterRegistry registry;
+    private InMemoryEventRepository repo;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repo = new InMemoryEventRepository(registry);
+    }
+
+    @Test
+    void windowFindsEventsThatStartedBeforeIt() {
+        Event year = repo.save(event(DAY.minus(Duration.ofDays(200)), Duration.ofDays(365)));
+        Event week = repo.save(event(DAY.minus(Duration.ofDays(3)), Duration.ofDays(7)));
+        Event inside = repo.save(event(DAY.plusSeconds(3600), Duration.ofHours(1)));
+        repo.save(event(DAY.minus(Duration.ofDays(3)), Duration.ofHours(2)));
+        repo.save(event(DAY.plus(Duration.ofDays(2)), Duration.ofHours(1)));
+
+        List<Event> found = repo.findAllBetween(DAY, DAY.plus(Duration.ofDays(1)), 10);
+
+        assertThat(found).extracting(Event::getId).containsExactly(year.getId(), week.getId(), inside.getId());
+    }
+
+    @Test
+    void longEventDoesNotWidenTheScanOfShortOnes() {
+        // Un año de eventos de una hora, uno por hora, y uno solo que dura el año entero
+        List<Event> hourly = new ArrayList<>();
+        for (int h = 0; h < 365 * 24; h++) {
+            hourly.add(event(DAY.plus(Duration.ofHours(h)), Duration.ofHours(1)));
+        }
+        repo.saveAll(hourly);
+        Event year = repo.save(event(DAY, Duration.ofDays(365)));
+        Instant from = DAY.plus(Duration.ofDays(300)).plus(Duration.ofMinutes(30));
+
+        List<Event> found = repo.findAllBetween(from, from.plus(Duration.ofHours(3)), 100);
+
+        assertThat(found).hasSize(5).first().extracting(Event::getId).isEqualTo(year.getId());
+        // Los de una hora solo se miran desde una hora antes de la ventana
+        assertThat(scanned()).isLessThan(10);
+
+        repo.deleteById(year.getId());
+        assertThat(repo.findAllBetween(from, from.plus(Duration.ofHours(3)), 100)).hasSize(4);
+    }
+
+    @Test
+    void changingTheDurationMovesTheEventBetweenClasses() {
+        Event event = repo.save(event(DAY, Duration.ofHours(1)));
+        Instant later = DAY.plus(Duration.ofDays(20));
+
+        assertThat(repo.findAllBetween(later, later.plusSeconds(60), 10)).isEmpty();
+
+        repo.update(event.getId(), e -> {
+            Event copy = new Event(e);
+            copy.setEndAt(DAY.plus(Duration.ofDays(30)));
+            return copy;
+        });
+        assertThat(repo.findAllBetween(later, later.plusSeconds(60), 10)).extracting(Event::getId)
+                .containsExactly(event.getId());
+
+        repo.update(event.getId(), e -> {
+            Event copy = new Event(e);
+            copy.setEndAt(DAY.plus(Duration.ofHours(2)));
+            return copy;
+        });
+        assertThat(repo.findAllBetween(later, later.plusSeconds(60), 10)).isEmpty();
+        assertThat(repo.findAllBetween(DAY, DAY.plusSeconds(60), 10)).hasSize(1);
+    }
+
+    @Test
+    void saveIfVersionOnlyWritesOverTheExpectedVersion() {
+        Event saved = repo.save(event(DAY, Duration.ofHours(1)));
+        Event stale = new Event(saved);
+        stale.setTitle("viejo");
+        Event fresh = new Event(saved);
+        fresh.setTitle("nuevo");
+
+        assertThat(repo.saveIfVersion(fresh, 1)).isTrue();
+        assertThat(repo.saveIfVersion(stale, 1)).isFalse();
+
+        assertThat(repo.findById(saved.getId())).get()
+                .satisfies(e -> assertThat(e.getTitle()).isEqualTo("nuevo"))
+                .satisfies(e -> assertThat(e.getVersion()).isEqualTo(2));
+    }
+
+    @Test
+    void deleteByIdIfVersionChecksVersionAndExistence() {
+        Event saved = repo.save(event(DAY, Duration.ofHours(1)));
+
+        assertThat(repo.deleteByIdIfVersion(saved.getId(), 2)).isFalse();
+        assertThat(repo.findById(saved.getId())).isPresent();
+        assertThat(repo.deleteByIdIfVersion(saved.getId(), 1)).isTrue();
+        assertThat(repo.findById(saved.getId())).isEmpty();
+        // Ya no existe: no hay nada que borrar
+        assertThat(repo.deleteByIdIfVersion(saved.getId(), 1)).isFalse();
+    }
+
+    @Test
+    void deleteOfAMissingIdCountsNothing() {
+        Event saved = repo.save(event(DAY, Duration.ofHours(1)));
+        RepositoryWork work = RepositoryWork.start();
+        try {
+            repo.deleteById(saved.getId());
+            repo.deleteById(saved.getId());
+        } finally {
+            RepositoryWork.stop();
+        }
+
+        RepositoryWork.Totals deletes = work.getQueries().get("delete");
+        assertThat(deletes.getCalls()).isEqualTo(2);
+        assertThat(deletes.getReturned()).isEqualTo(1);
+    }
+
+    @Test
+    void updateAppliesTheChangeToTheStoredVersion() {
+        Event saved = repo.save(event(DAY, Duration.ofHours(1)));
+
+        Event updated = repo.update(saved.getId(), e -> {
+            Event copy = new Event(e);
+            copy.setStatus(EventStatus.PENDING_APPROVAL);
+            return copy;
+        }).orElseThrow();
+
+        assertThat(updated.getVersion()).isEqualTo(2);
+        assertThat(repo.findByStatus(EventStatus.PENDING_APPROVAL)).extracting(Event::getId)
+                .containsExactly(saved.getId());
+        assertThat(repo.findByStatus(EventStatus.APPROVED)).isEmpty();
+        assertThat(repo.update(999L, e -> e)).isEmpty();
+    }
+
+    @Test
+    void updateThatThrowsWritesNothing() {
+        Event saved = repo.save(event(DAY, Duration.ofHours(1)));
+
+        assertThatThrownBy(() -> repo.update(saved.getId(), e -> {
+            throw new IllegalStateException("no");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(repo.findById(saved.getId())).get().satisfies(e -> assertThat(e.getVersion()).isEqualTo(1));
+    }
+
+    @Test
+    void durationClassesGrowByFour() {
+        assertThat(InMemoryEventRepository.durationClass(DAY, null)).isZero();
+        assertThat(InMemoryEventRepository.durationClass(DAY, DAY.plusSeconds(3600))).isZero();
+        assertThat(InMemoryEventRepository.durationClass(DAY, DAY.plusSeconds(3601))).isEqualTo(1);
+        assertThat(InMemoryEventRepository.durationClass(DAY, DAY.plus(Duration.ofHours(16)))).isEqualTo(2);
+        assertThat(InMemoryEventRepository.durationClass(DAY, DAY.plus(Duration.ofDays(36500)))).isEqualTo(10);
+        // La última no tiene tope
+        assertThat(InMemoryEventRepository.durationClass(DAY, DAY.plus(Duration.ofDays(365000)))).isEqualTo(11);
+    }
+
+    private double scanned() {
+        return registry.get("events.repository.query.scanned").tag("query", "all_window").counter().count();
+    }
+
+    private static Event event(Instant startAt, Duration duration) {
+        Event event = new Event();
+        event.setTitle("evento " + startAt);
+        event.setDescription("descripción");
+        event.setStatus(EventStatus.APPROVED);
+        event.setCreatedBy("collab");
+        event.setStartAt(startAt);
+        event.setEndAt(startAt.plus(duration));
+        event.setCreatedAt(startAt);
+        return event;
+    }
+}
@@ -0,0 +1,168 @@
+package com.docencia.aed.service.impl;
+
+import com.docencia.aed.domain.EventChange;
+import com.docencia.aed.domain.EventChangeType;
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.infrastructure.feed.ChangeFeedProperties;
+import com.docencia.aed.infrastructure.threads.BackgroundThreads;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventChangeFeedTest {
+
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+    private static final int CAPACITY = 8;
+
+    private EventChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        ChangeFeedProperties props = new ChangeFeedProperties();
+        props.setCapacity(CAPACITY);
+        props.setHeartbeatMillis(60_000);
+        feed = new EventChangeFeed(MAPPER, props, new BackgroundThreads(new MockEnvironment()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.destroy();
+    }
+
+    @Test
+    void messagesCarryTheSequenceAndTheWholeChange() throws Exception {
+        Event created = event(1L, 1, EventStatus.DRAFT);
+        feed.publish(null, created);
+
+        Capture client = subscribe(0L);
+
+        String message = client.next();
+        EventChange expected = new EventChange(1, EventChangeType.CREATED, 1L, 1, EventStatus.DRAFT, "collab",
+                created);
+        assertThat(message).isEqualTo("id:1\nevent:created\ndata:" + MAPPER.writeValueAsString(expected) + "\n\n");
+    }
+
+    @Test
+    void reconnectingAfterTheRingWrappedGetsAReset() throws Exception {
+        for (long id = 1; id <= CAPACITY + 3; id++) {
+            feed.publish(null, event(id, 1, EventStatus.DRAFT));
+        }
+
+        Capture client = subscribe(1L);
+
+        assertThat(client.next()).contains("event:reset");
+        // Después, lo que sigue en el buffer: las CAPACITY últimas
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < CAPACITY; i++) {
+            ids.add(client.next().lines().findFirst().orElseThrow());
+        }
+        assertThat(ids).first().isEqualTo("id:4");
+        assertThat(ids).last().isEqualTo("id:" + (CAPACITY + 3));
+    }
+
+    @Test
+    void clientThatFallsBehindGetsAResetAndCarriesOn() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Capture client = subscribe(null, release);
+        feed.publish(null, event(1L, 1, EventStatus.DRAFT));
+        // El envío del primero se queda parado mientras se publica más de lo que cabe
+        assertThat(client.sending.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long id = 2; id <= CAPACITY * 3; id++) {
+            feed.publish(null, event(id, 1, EventStatus.DRAFT));
+        }
+        release.countDown();
+
+        assertThat(client.next()).startsWith("id:1\n");
+        assertThat(client.next()).contains("event:reset");
+        assertThat(client.next()).startsWith("id:" + (CAPACITY * 2 + 1) + "\n");
+    }
+
+    @Test
+    void staleVersionsAreDropped() throws Exception {
+        Event v1 = event(1L, 1, EventStatus.DRAFT);
+        Event v2 = event(1L, 2, EventStatus.PENDING_APPROVAL);
+        // La segunda escritura llega antes que el alta
+        feed.publish(v1, v2);
+        feed.publish(null, v1);
+        feed.publish(v2, null);
+        feed.publish(v1, v2);
+
+        Capture client = subscribe(0L);
+
+        assertThat(client.next()).startsWith("id:1\nevent:submitted\n");
+        assertThat(client.next()).startsWith("id:2\nevent:deleted\n");
+        assertThat(client.messages.poll(200, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    private Capture subscribe(Long lastEventId) {
+        return subscribe(lastEventId, null);
+    }
+
+    private Capture subscribe(Long lastEventId, CountDownLatch release) {
+        Capture capture = new Capture(release);
+        feed.subscribe(capture, "admin", true, lastEventId);
+        return capture;
+    }
+
+    private static Event event(Long id, long version, EventStatus status) {
+        Event event = new Event();
+        event.setId(id);
+        event.setVersion(version);
+        event.setTitle("evento " + id);
+        event.setStatus(status);
+        event.setCreatedBy("collab");
+        event.setCreatedAt(Instant.parse("2026-01-01T10:00:00Z"));
+        return event;
+    }
+
+    // Guarda cada mensaje tal como saldría por la conexión; con release, el primero espera
+    private static final class Capture extends SseEmitter {
+        final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        Capture(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                text.append(data.getData());
+            }
+            messages.add(text.toString());
+            sending.countDown();
+            if (release != null) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        String next() throws InterruptedException {
+            String message = messages.poll(5, TimeUnit.SECONDS);
+            assertThat(message).as("message").isNotNull();
+            return message;
+        }
+    }
+}
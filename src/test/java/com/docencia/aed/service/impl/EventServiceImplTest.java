@@ -0,0 +1,183 @@
+package com.docencia.aed.service.impl;
+
+import com.docencia.aed.domain.BatchItemResult;
+import com.docencia.aed.entity.Event;
+import com.docencia.aed.entity.EventStatus;
+import com.docencia.aed.exception.PreconditionFailedException;
+import com.docencia.aed.exception.ResourceNotFoundException;
+import com.docencia.aed.infrastructure.feed.ChangeFeedProperties;
+import com.docencia.aed.infrastructure.persistence.StoreProperties;
+import com.docencia.aed.infrastructure.security.AppSecurityProperties;
+import com.docencia.aed.infrastructure.threads.BackgroundThreads;
+import com.docencia.aed.repository.EventRepository;
+import com.docencia.aed.repository.cache.CachingEventRepository;
+import com.docencia.aed.repository.memory.InMemoryEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * EventServiceImpl sobre el repositorio en memoria con la caché delante. Lo que hace
+ * otro escritor entre la lectura del servicio y su escritura se simula escribiendo
+ * directamente en el repositorio de debajo: la caché sigue devolviendo lo de antes.
+ */
+class EventServiceImplTest {
+
+    private static final ObjectMapper MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    private InMemoryEventRepository store;
+    private EventChangeFeed feed;
+    private EventServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        store = new InMemoryEventRepository(registry);
+        EventRepository repo = new CachingEventRepository(store, new StoreProperties.Cache(), registry);
+        AppSecurityProperties security = new AppSecurityProperties();
+        AppSecurityProperties.RolePermissions admin = security.getPermissions().getAdmin();
+        admin.setCanDelete(true);
+        admin.setCanEditAny(true);
+        admin.setCanSubmitForApproval(true);
+        admin.setCanApprove(true);
+        admin.setCanReject(true);
+        AppSecurityProperties.RolePermissions collaborator = security.getPermissions().getCollaborator();
+        collaborator.setCanEditOwnDraftOrRejected(true);
+        collaborator.setCanSubmitForApproval(true);
+        feed = new EventChangeFeed(MAPPER, new ChangeFeedProperties(), new BackgroundThreads(new MockEnvironment()));
+        service = new EventServiceImpl(repo, security, new PublicEventCache(MAPPER), feed,
+                new EventMetrics(registry));
+    }
+
+    @AfterEach
+    void tearDown() {
+        feed.destroy();
+    }
+
+    @Test
+    void deleteWithTheCurrentVersion() {
+        Event event = store.save(event("uno", EventStatus.DRAFT));
+
+        service.delete("admin", true, event.getId(), 1L);
+
+        assertThat(store.findById(event.getId())).isEmpty();
+    }
+
+    @Test
+    void deleteWithAnOldVersionIsRejected() {
+        Event event = store.save(event("uno", EventStatus.DRAFT));
+
+        assertThatThrownBy(() -> service.delete("admin", true, event.getId(), 2L))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(store.findById(event.getId())).isPresent();
+    }
+
+    @Test
+    void deleteLosingToAnotherWriteIsRejected() {
+        Event event = store.save(event("uno", EventStatus.DRAFT));
+        service.getV2ById("admin", true, event.getId());
+        store.save(new Event(event));
+
+        assertThatThrownBy(() -> service.delete("admin", true, event.getId(), 1L))
+                .isInstanceOf(PreconditionFailedException.class);
+        assertThat(store.findById(event.getId())).isPresent();
+    }
+
+    @Test
+    void deleteLosingToAnotherDeleteIsNotFound() {
+        Event event = store.save(event("uno", EventStatus.DRAFT));
+        service.getV2ById("admin", true, event.getId());
+        store.deleteById(event.getId());
+
+        assertThatThrownBy(() -> service.delete("admin", true, event.getId(), 1L))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void batchReportsEachItemOnItsOwn() {
+        Event pending = store.save(event("uno", EventStatus.PENDING_APPROVAL));
+        Event draft = store.save(event("dos", EventStatus.DRAFT));
+        Event alsoPending = store.save(event("tres", EventStatus.PENDING_APPROVAL));
+
+        List<BatchItemResult> results = service.approveBatch("admin", true,
+                List.of(pending.getId(), draft.getId(), 999L, alsoPending.getId()));
+
+        assertThat(results).extracting(BatchItemResult::getId)
+                .containsExactly(pending.getId(), draft.getId(), 999L, alsoPending.getId());
+        assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(200, 409, 404, 200);
+        assertThat(results.get(0).getEvent().getStatus()).isEqualTo(EventStatus.APPROVED);
+        assertThat(results.get(1).getError()).contains("PENDING_APPROVAL");
+        assertThat(store.findById(pending.getId())).get()
+                .satisfies(e -> assertThat(e.getStatus()).isEqualTo(EventStatus.APPROVED));
+        assertThat(store.findById(draft.getId())).get()
+                .satisfies(e -> assertThat(e.getStatus()).isEqualTo(EventStatus.DRAFT));
+    }
+
+    @Test
+    void batchItemThatLosesTheRaceIsCheckedAgainstTheWinner() {
+        Event rejected = store.save(event("uno", EventStatus.PENDING_APPROVAL));
+        Event edited = store.save(event("dos", EventStatus.PENDING_APPROVAL));
+        service.getV2ById("admin", true, rejected.getId());
+        service.getV2ById("admin", true, edited.getId());
+        // Mientras tanto, otro escritor rechaza uno y edita el otro sin cambiar su estado
+        store.update(rejected.getId(), e -> {
+            Event copy = new Event(e);
+            copy.setStatus(EventStatus.REJECTED);
+            return copy;
+        });
+        store.update(edited.getId(), e -> {
+            Event copy = new Event(e);
+            copy.setTitle("editado");
+            return copy;
+        });
+
+        List<BatchItemResult> results = service.approveBatch("admin", true,
+                List.of(rejected.getId(), edited.getId()));
+
+        assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(409, 200);
+        assertThat(store.findById(rejected.getId())).get()
+                .satisfies(e -> assertThat(e.getStatus()).isEqualTo(EventStatus.REJECTED));
+        // Aprobado sobre la versión que ganó: conserva su cambio
+        assertThat(store.findById(edited.getId())).get()
+                .satisfies(e -> assertThat(e.getStatus()).isEqualTo(EventStatus.APPROVED))
+                .satisfies(e -> assertThat(e.getTitle()).isEqualTo("editado"))
+                .satisfies(e -> assertThat(e.getVersion()).isEqualTo(3));
+    }
+
+    @Test
+    void batchItemsTheUserCannotSeeAreForbidden() {
+        Event own = store.save(event("uno", EventStatus.DRAFT));
+        Event other = event("dos", EventStatus.DRAFT);
+        other.setCreatedBy("otro");
+        other = store.save(other);
+
+        List<BatchItemResult> results = service.submitBatch("collab", false, List.of(own.getId(), other.getId()));
+
+        assertThat(results).extracting(BatchItemResult::getStatus).containsExactly(200, 403);
+        assertThat(store.findById(other.getId())).get()
+                .satisfies(e -> assertThat(e.getStatus()).isEqualTo(EventStatus.DRAFT));
+    }
+
+    private static Event event(String title, EventStatus status) {
+        Event event = new Event();
+        event.setTitle(title);
+        event.setDescription("descripción de " + title);
+        event.setStatus(status);
+        event.setCreatedBy("collab");
+        Instant start = Instant.parse("2026-03-01T10:00:00Z");
+        event.setStartAt(start);
+        event.setEndAt(start.plusSeconds(3600));
+        event.setCreatedAt(start);
+        return event;
+    }
+}